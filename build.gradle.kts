@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.1"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "kz"
@@ -9,7 +10,7 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -29,6 +30,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
 
     // Security
     implementation("org.springframework.boot:spring-boot-starter-security")
@@ -39,11 +43,27 @@ dependencies {
     // Test
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework:spring-test")
+    testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:postgresql")
+    testImplementation("org.springframework.security:spring-security-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
     // Database
     implementation("org.liquibase:liquibase-core")
     runtimeOnly("org.postgresql:postgresql")
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.r2dbc:r2dbc-pool")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+
+    // Metrics
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    implementation("io.projectreactor:reactor-core-micrometer")
+    runtimeOnly("org.hibernate.orm:hibernate-micrometer")
+    implementation("net.ttddyy:datasource-proxy:1.10")
+
+    // Cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Tools
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.7.0")
@@ -54,3 +74,14 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    benchmarkMode = listOf("thrpt", "avgt")
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    // ./gradlew jmh -PjmhIncludes=OrderConversion runs only the benchmarks matching the pattern
+    project.findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+}
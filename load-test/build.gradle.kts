@@ -0,0 +1,34 @@
+plugins {
+    java
+    application
+}
+
+group = "kz"
+version = "0.0.1-SNAPSHOT"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.18.2")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+application {
+    mainClass = "kz.orderservice.loadtest.LoadTestApplication"
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
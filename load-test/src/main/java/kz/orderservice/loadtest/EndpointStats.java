@@ -0,0 +1,73 @@
+package kz.orderservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one operation. Latencies are recorded in microseconds from the time the request was scheduled to
+ * start, not from the time it was sent, so a stalled server shows up in the percentiles instead of lowering the
+ * request rate (coordinated omission).
+ */
+final class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+    void recordSent() {
+        requests.increment();
+    }
+
+    void recordResponse(long latencyNanos, int statusCode) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        if (statusCode >= 400) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        errors.increment();
+    }
+
+    void recordDropped() {
+        requests.increment();
+        dropped.increment();
+    }
+
+    long getResponses() {
+        return latencies.getTotalCount();
+    }
+
+    LoadTestReport.EndpointReport toReport(double durationSeconds) {
+        Map<String, Long> codes = new TreeMap<>();
+        statusCodes.forEach((code, count) -> codes.put(String.valueOf(code), count.sum()));
+        return new LoadTestReport.EndpointReport(
+                requests.sum(),
+                latencies.getTotalCount(),
+                errors.sum(),
+                dropped.sum(),
+                latencies.getTotalCount() / durationSeconds,
+                codes,
+                new LoadTestReport.LatencyReport(
+                        millis(latencies.getMinValue()),
+                        latencies.getMean() / 1000.0,
+                        millis(latencies.getValueAtPercentile(50)),
+                        millis(latencies.getValueAtPercentile(90)),
+                        millis(latencies.getValueAtPercentile(99)),
+                        millis(latencies.getValueAtPercentile(99.9)),
+                        millis(latencies.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,30 @@
+package kz.orderservice.loadtest;
+
+import java.util.Map;
+
+/**
+ * Entry point of the load driver. Start the order service, then run
+ * {@code ./gradlew :load-test:run --args="--rate=1000 --duration-seconds=60"}; see {@link LoadTestConfig} for
+ * every argument.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        LoadTestReport report = new LoadTestDriver(config, new OrderServiceClient(config.baseUrl())).run();
+        report.write(config.report());
+
+        System.out.printf("Target rate %d/s, achieved %.1f/s over %d s%n",
+                report.targetRate(), report.achievedRate(), report.durationSeconds());
+        System.out.printf("%-24s %10s %8s %8s %10s %10s %10s %10s%n",
+                "endpoint", "responses", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, LoadTestReport.EndpointReport> endpoint : report.endpoints().entrySet()) {
+            LoadTestReport.EndpointReport result = endpoint.getValue();
+            System.out.printf("%-24s %10d %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    endpoint.getKey(), result.responses(), result.errors(), result.dropped(),
+                    result.latencyMillis().p50(), result.latencyMillis().p99(), result.latencyMillis().p999(),
+                    result.latencyMillis().max());
+        }
+        System.out.println("Report written to " + config.report().toAbsolutePath());
+    }
+}
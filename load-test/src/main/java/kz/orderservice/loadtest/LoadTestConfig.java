@@ -0,0 +1,73 @@
+package kz.orderservice.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code --name=value} arguments. Every setting has a default, so a run
+ * against a locally started application needs no arguments at all.
+ *
+ * @param baseUrl     URL of the order service
+ * @param users       customers registered before the run; requests are spread over them
+ * @param rate        requests started per second, independent of how fast responses come back
+ * @param warmup      time at the start of the run whose requests are sent but not recorded
+ * @param duration    recorded time after the warmup
+ * @param maxInFlight requests allowed to wait for a response; arrivals above it are counted as dropped
+ * @param mix         relative weight of each operation, e.g. {@code --mix=GET_ORDER:70,CREATE_ORDER:20,LOGIN:10}
+ * @param report      file the JSON report is written to
+ */
+public record LoadTestConfig(URI baseUrl,
+                             int users,
+                             int rate,
+                             Duration warmup,
+                             Duration duration,
+                             int maxInFlight,
+                             Map<Operation, Integer> mix,
+                             Path report) {
+
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments should look like --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(values.getOrDefault("base-url", "http://localhost:8080")),
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Integer.parseInt(values.getOrDefault("rate", "500")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60"))),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                parseMix(values.getOrDefault("mix", "LOGIN:5,CREATE_ORDER:20,GET_ORDER:55,UPDATE_ORDER:15,LIST_ORDERS:5")),
+                Path.of(values.getOrDefault("report", "build/load-test-report.json")));
+        if (config.users() < 1 || config.rate() < 1 || config.maxInFlight() < 1) {
+            throw new IllegalArgumentException("users, rate and max-in-flight should be at least 1");
+        }
+        return config;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries should look like OPERATION:weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights should not be negative, got: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation of the mix should have a positive weight");
+        }
+        return weights;
+    }
+}
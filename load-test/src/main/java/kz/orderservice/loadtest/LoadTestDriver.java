@@ -0,0 +1,158 @@
+package kz.orderservice.loadtest;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a load test in open-loop mode: requests start at a constant rate whether or not earlier ones have
+ * completed, so a slow server shows up as latency rather than as a lower request rate. Before the run the driver
+ * registers the customers, logs them in through the user endpoints and gives each of them one order to read and
+ * update; {@code GET /orders} is sent by a separate customer that is granted the admin role.
+ */
+final class LoadTestDriver {
+    private static final String PASSWORD = "load-test-password";
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final LoadTestConfig config;
+    private final OrderServiceClient client;
+    private final OperationMix mix;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final List<Customer> customers = new ArrayList<>();
+    private String adminToken;
+
+    LoadTestDriver(LoadTestConfig config, OrderServiceClient client) {
+        this.config = config;
+        this.client = client;
+        this.mix = new OperationMix(config.mix());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        setUpCustomers();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1);
+        long start = System.nanoTime();
+        long recordFrom = start + config.warmup().toNanos();
+        long end = recordFrom + config.duration().toNanos();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * intervalNanos / config.rate();
+            if (scheduledAt >= end) {
+                break;
+            }
+            long delay;
+            while ((delay = scheduledAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = mix.next();
+            EndpointStats endpointStats = scheduledAt >= recordFrom ? stats.get(operation) : null;
+            if (!inFlight.tryAcquire()) {
+                if (endpointStats != null) {
+                    endpointStats.recordDropped();
+                }
+                continue;
+            }
+            if (endpointStats != null) {
+                endpointStats.recordSent();
+            }
+            send(operation).whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - scheduledAt;
+                inFlight.release();
+                if (endpointStats == null) {
+                    return;
+                }
+                if (failure != null) {
+                    endpointStats.recordFailure(latency);
+                } else {
+                    endpointStats.recordResponse(latency, response.statusCode());
+                }
+            });
+        }
+        if (!inFlight.tryAcquire(config.maxInFlight(), DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            System.err.println("Some requests were still running " + DRAIN_TIMEOUT_SECONDS + " s after the run");
+        }
+        return report();
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(Operation operation) {
+        Customer customer = customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+        return switch (operation) {
+            case LOGIN -> client.login(customer.username(), PASSWORD);
+            case CREATE_ORDER -> client.createOrder(customer.token()).thenApply(response -> {
+                if (response.statusCode() == 201) {
+                    customer.orderIds().add(client.readOrderId(response));
+                }
+                return response;
+            });
+            case GET_ORDER -> client.getOrder(customer.token(), customer.randomOrderId());
+            case UPDATE_ORDER -> client.updateOrder(customer.token(), customer.randomOrderId());
+            case LIST_ORDERS -> client.listOrders(adminToken);
+        };
+    }
+
+    private void setUpCustomers() {
+        String prefix = "load-" + System.currentTimeMillis() + "-";
+        List<CompletableFuture<Customer>> registrations = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            String username = prefix + i;
+            registrations.add(client.register(username, PASSWORD)
+                    .thenApply(response -> expect(response, 200, "register " + username))
+                    .thenCompose(response -> client.login(username, PASSWORD))
+                    .thenApply(response -> expect(response, 200, "log in " + username))
+                    .thenCompose(response -> {
+                        String token = client.readToken(response);
+                        return client.createOrder(token)
+                                .thenApply(order -> expect(order, 201, "create an order of " + username))
+                                .thenApply(order -> new Customer(username, token,
+                                        new CopyOnWriteArrayList<>(List.of(client.readOrderId(order)))));
+                    }));
+        }
+        registrations.forEach(registration -> customers.add(registration.join()));
+
+        String admin = prefix + "admin";
+        expect(client.register(admin, PASSWORD).join(), 200, "register " + admin);
+        String token = client.readToken(expect(client.login(admin, PASSWORD).join(), 200, "log in " + admin));
+        expect(client.grantAdminRole(token).join(), 200, "grant the admin role to " + admin);
+        adminToken = client.readToken(expect(client.login(admin, PASSWORD).join(), 200, "log in " + admin));
+    }
+
+    private LoadTestReport report() {
+        double durationSeconds = config.duration().toMillis() / 1000.0;
+        Map<String, LoadTestReport.EndpointReport> endpoints = new LinkedHashMap<>();
+        long responses = 0;
+        for (Map.Entry<Operation, EndpointStats> endpointStats : stats.entrySet()) {
+            endpoints.put(endpointStats.getKey().getEndpoint(), endpointStats.getValue().toReport(durationSeconds));
+            responses += endpointStats.getValue().getResponses();
+        }
+        return new LoadTestReport(config.baseUrl().toString(), config.rate(), responses / durationSeconds,
+                config.duration().toSeconds(), endpoints);
+    }
+
+    private static HttpResponse<String> expect(HttpResponse<String> response, int statusCode, String action) {
+        if (response.statusCode() != statusCode) {
+            throw new IllegalStateException("Could not " + action + ": HTTP " + response.statusCode() + " "
+                    + response.body());
+        }
+        return response;
+    }
+
+    private record Customer(String username, String token, List<Long> orderIds) {
+
+        long randomOrderId() {
+            return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+        }
+    }
+}
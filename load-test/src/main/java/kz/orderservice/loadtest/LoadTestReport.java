@@ -0,0 +1,42 @@
+package kz.orderservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a run: the requested and achieved rate and, per endpoint, the request counts,
+ * throughput and latency percentiles in milliseconds.
+ */
+public record LoadTestReport(String baseUrl,
+                             int targetRate,
+                             double achievedRate,
+                             long durationSeconds,
+                             Map<String, EndpointReport> endpoints) {
+
+    public record EndpointReport(long requests,
+                                 long responses,
+                                 long errors,
+                                 long dropped,
+                                 double throughput,
+                                 Map<String, Long> statusCodes,
+                                 LatencyReport latencyMillis) {
+    }
+
+    public record LatencyReport(double min, double mean, double p50, double p90, double p99, double p999,
+                                double max) {
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), this);
+    }
+}
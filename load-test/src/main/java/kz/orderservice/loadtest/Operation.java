@@ -0,0 +1,22 @@
+package kz.orderservice.loadtest;
+
+/**
+ * Requests the load driver sends, named after the endpoint they hit.
+ */
+public enum Operation {
+    LOGIN("POST /login"),
+    CREATE_ORDER("POST /orders"),
+    GET_ORDER("GET /orders/{orderId}"),
+    UPDATE_ORDER("PUT /orders/{orderId}"),
+    LIST_ORDERS("GET /orders");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
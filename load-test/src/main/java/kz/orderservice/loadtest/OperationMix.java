@@ -0,0 +1,40 @@
+package kz.orderservice.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the next operation at random, in proportion to the weights of the mix.
+ */
+final class OperationMix {
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private final int totalWeight;
+
+    OperationMix(Map<Operation, Integer> weights) {
+        int total = 0;
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            if (weight.getValue() > 0) {
+                total += weight.getValue();
+                operations.add(weight.getKey());
+                cumulativeWeights.add(total);
+            }
+        }
+        this.totalWeight = total;
+    }
+
+    Operation next() {
+        return pick(ThreadLocalRandom.current().nextInt(totalWeight));
+    }
+
+    Operation pick(int value) {
+        for (int i = 0; i < operations.size(); i++) {
+            if (value < cumulativeWeights.get(i)) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalArgumentException("Value should be below " + totalWeight + ", got: " + value);
+    }
+}
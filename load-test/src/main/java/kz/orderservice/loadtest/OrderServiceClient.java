@@ -0,0 +1,108 @@
+package kz.orderservice.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous client of the order service endpoints the load test drives, built on the JDK {@link HttpClient}.
+ */
+final class OrderServiceClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Map<String, Object> ORDER = Map.of(
+            "orderStatus", "PENDING",
+            "products", List.of(Map.of("name", "Load test product", "price", 10.5, "quantity", 2)));
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    OrderServiceClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    CompletableFuture<HttpResponse<String>> register(String username, String password) {
+        return send(request("/register", null)
+                .POST(json(Map.of("username", username, "password", password))));
+    }
+
+    CompletableFuture<HttpResponse<String>> login(String username, String password) {
+        return send(request("/login", null)
+                .POST(json(Map.of("username", username, "password", password))));
+    }
+
+    CompletableFuture<HttpResponse<String>> grantAdminRole(String token) {
+        return send(request("/admin", token)
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    CompletableFuture<HttpResponse<String>> createOrder(String token) {
+        return send(request("/orders", token)
+                .POST(json(ORDER)));
+    }
+
+    CompletableFuture<HttpResponse<String>> getOrder(String token, long orderId) {
+        return send(request("/orders/" + orderId, token)
+                .GET());
+    }
+
+    CompletableFuture<HttpResponse<String>> updateOrder(String token, long orderId) {
+        return send(request("/orders/" + orderId, token)
+                .PUT(json(ORDER)));
+    }
+
+    CompletableFuture<HttpResponse<String>> listOrders(String token) {
+        return send(request("/orders?size=20", token)
+                .GET());
+    }
+
+    String readToken(HttpResponse<String> response) {
+        return readField(response, "token");
+    }
+
+    long readOrderId(HttpResponse<String> response) {
+        return Long.parseLong(readField(response, "orderId"));
+    }
+
+    private String readField(HttpResponse<String> response, String field) {
+        try {
+            return objectMapper.readTree(response.body()).get(field).asText();
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder request) {
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,45 @@
+package kz.orderservice.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationMixTest {
+
+    @Test
+    @DisplayName("Testing pick spreads values over the operations in proportion to their weights")
+    void testPick() {
+        OperationMix mix = new OperationMix(LoadTestConfig.parseMix("GET_ORDER:7, CREATE_ORDER:2, LOGIN:0, LIST_ORDERS:1"));
+
+        assertEquals(Operation.CREATE_ORDER, mix.pick(0));
+        assertEquals(Operation.CREATE_ORDER, mix.pick(1));
+        assertEquals(Operation.GET_ORDER, mix.pick(2));
+        assertEquals(Operation.GET_ORDER, mix.pick(8));
+        assertEquals(Operation.LIST_ORDERS, mix.pick(9));
+        assertThrows(IllegalArgumentException.class, () -> mix.pick(10));
+    }
+
+    @Test
+    @DisplayName("Testing parseMix rejects malformed entries and a mix without positive weights")
+    void testParseMixWithInvalidMix() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("GET_ORDER"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("UNKNOWN:1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("GET_ORDER:-1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("GET_ORDER:0"));
+    }
+
+    @Test
+    @DisplayName("Testing fromArgs falls back to the defaults")
+    void testFromArgsDefaults() {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[]{"--rate=1000"});
+
+        assertEquals(1000, config.rate());
+        assertEquals(50, config.users());
+        assertEquals(Map.of(Operation.LOGIN, 5, Operation.CREATE_ORDER, 20, Operation.GET_ORDER, 55,
+                Operation.UPDATE_ORDER, 15, Operation.LIST_ORDERS, 5), config.mix());
+    }
+}
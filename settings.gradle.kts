@@ -1 +1,3 @@
 rootProject.name = "order-service"
+
+include("load-test")
@@ -0,0 +1,82 @@
+package kz.orderservice.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.orderservice.entity.user.Role;
+import kz.orderservice.entity.user.User;
+import kz.orderservice.service.JwtService;
+import kz.orderservice.service.TokenVersionRegistry;
+import kz.orderservice.service.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication CPU of the JWT filter: the previous path, which built a new key and parser and
+ * verified the token three times (extractUsername, then isTokenValid calling extractUsername and
+ * extractExpiration), against a single {@link JwtService#parseToken(String)} with the prebuilt parser,
+ * and the cost of issuing a token at login.
+ * <p>
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParsingBenchmark {
+    private static final String SECRET_KEY = "5F1B7C4A8E0B5D1A22B1D8C1E4A4F3B5D6D3FAE7C8B9D4F2A1B6C3E5F7A8E9D1";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 86400000L, new TokenVersionRegistry(null), new SimpleMeterRegistry());
+        user = User.builder()
+                .username("benchmark-user")
+                .password("password")
+                .role(Role.USER)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public void legacyThreeParses(Blackhole blackhole) {
+        String username = legacyParse(token).getSubject();
+        boolean valid = legacyParse(token).getSubject().equals(username)
+                && !legacyParse(token).getExpiration().before(new Date());
+        blackhole.consume(valid);
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        VerifiedToken verifiedToken = jwtService.parseToken(token);
+        blackhole.consume(verifiedToken.username() != null && !verifiedToken.isExpired());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    private Claims legacyParse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,100 @@
+package kz.orderservice.benchmark;
+
+import kz.orderservice.converter.OrderConverter;
+import kz.orderservice.converter.ProductConverter;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.product.ProductRequestDto;
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of an order between its request DTO, entity and response DTO by {@link OrderConverter}, and of single
+ * product lines by {@link ProductConverter}, for orders of 1, 20 and 1000 lines.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderConversionBenchmark {
+
+    @Param({"1", "20", "1000"})
+    private int lines;
+
+    private ProductConverter productConverter;
+    private OrderConverter orderConverter;
+    private OrderRequestDto orderRequestDto;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        productConverter = new ProductConverter();
+        orderConverter = new OrderConverter(productConverter);
+
+        List<ProductRequestDto> productRequestDtos = new ArrayList<>(lines);
+        List<Product> products = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            productRequestDtos.add(ProductRequestDto.builder()
+                    .name("Product " + i)
+                    .price(1 + (i % 1000) / 100.0)
+                    .quantity(1 + i % 20)
+                    .build());
+            products.add(Product.builder()
+                    .productId((long) i)
+                    .name("Product " + i)
+                    .price(1 + (i % 1000) / 100.0)
+                    .quantity(1 + i % 20)
+                    .build());
+        }
+        orderRequestDto = OrderRequestDto.builder()
+                .orderStatus("PENDING")
+                .products(productRequestDtos)
+                .build();
+        order = Order.builder()
+                .orderId(1L)
+                .customerName("benchmark-user")
+                .status(OrderStatus.PENDING)
+                .totalPrice(new BigDecimal("100.00"))
+                .products(products)
+                .isDeleted(false)
+                .createdAt(Instant.now())
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public Order orderRequestDtoToEntity() {
+        return orderConverter.requestDtoToEntity(orderRequestDto);
+    }
+
+    @Benchmark
+    public OrderResponseDto orderEntityToResponseDto() {
+        return orderConverter.entityToResponseDto(order);
+    }
+
+    @Benchmark
+    public void productRequestDtoToEntity(Blackhole blackhole) {
+        for (ProductRequestDto productRequestDto : orderRequestDto.getProducts()) {
+            blackhole.consume(productConverter.requestDtoToEntity(productRequestDto));
+        }
+    }
+
+    @Benchmark
+    public void productEntityToResponseDto(Blackhole blackhole) {
+        for (Product product : order.getProducts()) {
+            blackhole.consume(productConverter.entityToResponseDto(product));
+        }
+    }
+}
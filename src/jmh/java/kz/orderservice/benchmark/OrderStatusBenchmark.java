@@ -0,0 +1,27 @@
+package kz.orderservice.benchmark;
+
+import kz.orderservice.entity.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderStatus#fromString(String)}, which runs for every order request and every status filter, for the
+ * first and the last status and a differently cased value.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderStatusBenchmark {
+
+    @Param({"pending", "cancelled", "CANCELLED"})
+    private String text;
+
+    @Benchmark
+    public OrderStatus fromString() {
+        return OrderStatus.fromString(text);
+    }
+}
@@ -0,0 +1,69 @@
+package kz.orderservice.benchmark;
+
+import kz.orderservice.config.PricingProperties;
+import kz.orderservice.entity.Product;
+import kz.orderservice.service.PricingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order total computation: the previous stream-based {@code double} sum against {@link PricingEngine}, with and
+ * without pricing rules. Run with {@code ./gradlew jmh}; the gc profiler is enabled, so the results include the
+ * allocation per operation ({@code gc.alloc.rate.norm}) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PricingBenchmark {
+
+    @Param({"1", "20", "1000"})
+    private int lines;
+
+    private List<Product> products;
+    private PricingEngine plainPricingEngine;
+    private PricingEngine rulesPricingEngine;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .price(1 + (i % 1000) / 100.0)
+                    .quantity(1 + i % 20)
+                    .build());
+        }
+        plainPricingEngine = new PricingEngine(new PricingProperties(0, List.of()));
+        rulesPricingEngine = new PricingEngine(new PricingProperties(1200, List.of(
+                new PricingProperties.DiscountTier(5, 300),
+                new PricingProperties.DiscountTier(10, 500),
+                new PricingProperties.DiscountTier(15, 800))));
+    }
+
+    @Benchmark
+    public double legacyStreamSum() {
+        return products.stream()
+                .mapToDouble(product -> product.getPrice() * product.getQuantity())
+                .sum();
+    }
+
+    @Benchmark
+    public long pricingEngine() {
+        return plainPricingEngine.calculateTotalCents(products);
+    }
+
+    @Benchmark
+    public long pricingEngineWithRules() {
+        return rulesPricingEngine.calculateTotalCents(products);
+    }
+}
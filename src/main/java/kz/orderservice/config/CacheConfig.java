@@ -0,0 +1,20 @@
+package kz.orderservice.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes the "orders" cache transaction aware: a put or evict issued inside a transaction, such as the
+ * {@code @CachePut} of an order created for an idempotent request, is applied only once the transaction commits,
+ * so a rolled back order is never served from the cache.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> transactionAwareCacheManager() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
@@ -0,0 +1,31 @@
+package kz.orderservice.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            ObjectProvider<DatabaseBulkheadProperties> bulkheadProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                DatabaseBulkheadProperties properties = bulkheadProperties.getObject();
+                if (!properties.enabled()) {
+                    return bean;
+                }
+                return new BulkheadDataSource(dataSource, properties.maxConcurrentConnections(),
+                        properties.acquireTimeout());
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package kz.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits how many JDBC connections the application may hold at once. Meant for virtual-thread request handling,
+ * where the number of requests running at the same time is no longer bounded by the Tomcat thread pool. The R2DBC
+ * pool of {@code GET /orders/{orderId}} is not behind the bulkhead; it is capped by its own
+ * {@code orders.reactive-read.max-pool-size}, and both pools together by {@code orders.db-connections.max-total}.
+ *
+ * @param enabled                  whether the {@code DataSource} is wrapped in a {@link BulkheadDataSource}
+ * @param maxConcurrentConnections JDBC connections that may be open at the same time, usually the Hikari pool size
+ * @param acquireTimeout           how long a caller waits for a free slot before the request fails with 503
+ */
+@ConfigurationProperties("orders.db-bulkhead")
+public record DatabaseBulkheadProperties(@DefaultValue("false") boolean enabled,
+                                         @DefaultValue("10") int maxConcurrentConnections,
+                                         @DefaultValue("1s") Duration acquireTimeout) {
+}
@@ -1,10 +1,14 @@
 package kz.orderservice.config;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import kz.orderservice.service.JwtService;
+import kz.orderservice.service.VerifiedToken;
+import kz.orderservice.service.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +22,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
+@Slf4j
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -25,8 +30,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public String bearerPrefix;
     @Value("${jwt.auth-filter.header-name}")
     public String headerName;
+    @Value("${jwt.auth-filter.stateless}")
+    public boolean stateless;
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
 
     @Override
@@ -39,10 +47,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         String jwt = authHeader.substring(bearerPrefix.length());
-        String username = jwtService.extractUsername(jwt);
+        VerifiedToken token;
+        try {
+            token = verifiedTokenCache.get(jwt);
+        } catch (JwtException | IllegalArgumentException exception) {
+            log.debug("Rejected bearer token: {}", exception.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String username = token.username();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            UserDetails userDetails = stateless
+                    ? jwtService.extractUserDetails(token)
+                    : userDetailsService.loadUserByUsername(username);
+            if (userDetails != null && jwtService.isTokenValid(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -0,0 +1,20 @@
+package kz.orderservice.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the aspect behind {@link io.micrometer.core.annotation.Timed}, so services annotated with it get a
+ * timer per method. Pool, cache, Hibernate and HTTP metrics are bound by Spring Boot and scraped from
+ * {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
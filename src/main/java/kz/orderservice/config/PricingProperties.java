@@ -0,0 +1,21 @@
+package kz.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Pricing rules applied to every order. Rates are in basis points (1/100 of a percent), so {@code 1250} is 12.5%.
+ *
+ * @param taxRateBasisPoints tax added to the discounted subtotal of the order
+ * @param lineDiscounts      discounts of a product line by its quantity; the tier with the highest
+ *                           {@code minQuantity} not above the quantity of the line applies
+ */
+@ConfigurationProperties("orders.pricing")
+public record PricingProperties(@DefaultValue("0") int taxRateBasisPoints,
+                                @DefaultValue List<DiscountTier> lineDiscounts) {
+
+    public record DiscountTier(int minQuantity, int discountBasisPoints) {
+    }
+}
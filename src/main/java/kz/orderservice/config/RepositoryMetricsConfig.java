@@ -0,0 +1,79 @@
+package kz.orderservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import kz.orderservice.repository.OrderRepository;
+import kz.orderservice.repository.UserRepository;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Adds a {@link RepositoryMetricsInterceptor} to {@link OrderRepository} and {@link UserRepository} and wraps the
+ * {@code DataSource} so the statements of each repository call are recorded for the slow-query log.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+    private static final String DATA_SOURCE_NAME = "repository-statements";
+    private static final Set<Class<?>> INSTRUMENTED_REPOSITORIES = Set.of(OrderRepository.class, UserRepository.class);
+
+    @Bean
+    public static RepositoryStatementRecorder repositoryStatementRecorder() {
+        return new RepositoryStatementRecorder();
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryStatementRecordingPostProcessor(
+            RepositoryStatementRecorder statementRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isStatementRecordingProxy(bean)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE_NAME)
+                        .listener(statementRecorder)
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(
+            RepositoryStatementRecorder statementRecorder,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<RepositoryMetricsProperties> metricsProperties) {
+        SingletonSupplier<MeterRegistry> registry = SingletonSupplier.of(meterRegistry::getObject);
+        SingletonSupplier<RepositoryMetricsProperties> properties = SingletonSupplier.of(metricsProperties::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(repositoryFactory -> repositoryFactory
+                            .addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+                                Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+                                if (INSTRUMENTED_REPOSITORIES.contains(repositoryInterface)) {
+                                    proxyFactory.addAdvice(new RepositoryMetricsInterceptor(repositoryInterface,
+                                            statementRecorder, registry,
+                                            () -> properties.obtain().slowQueryThreshold()));
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean isStatementRecordingProxy(Object bean) {
+        return bean instanceof ProxyDataSource proxyDataSource
+                && DATA_SOURCE_NAME.equals(proxyDataSource.getProxyConfig().getDataSourceName());
+    }
+}
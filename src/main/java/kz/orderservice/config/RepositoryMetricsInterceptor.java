@@ -0,0 +1,110 @@
+package kz.orderservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kz.orderservice.repository.OrderFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times every call of a repository in the {@code repository.invocations} timer, tagged with the repository, the
+ * method, the {@link OrderFilter#shape() shape} of its filter argument and the exception it threw. Calls taking at
+ * least {@code orders.repository-metrics.slow-query-threshold} are logged with the statements they ran, their
+ * bind counts and durations, and the number of rows returned.
+ */
+@Slf4j
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+    private static final String TIMER_NAME = "repository.invocations";
+
+    private final Class<?> repositoryInterface;
+    private final RepositoryStatementRecorder statementRecorder;
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Supplier<Duration> slowQueryThreshold;
+
+    public RepositoryMetricsInterceptor(Class<?> repositoryInterface, RepositoryStatementRecorder statementRecorder,
+                                        Supplier<MeterRegistry> meterRegistry, Supplier<Duration> slowQueryThreshold) {
+        this.repositoryInterface = repositoryInterface;
+        this.statementRecorder = statementRecorder;
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        List<RepositoryStatementRecorder.RecordedStatement> enclosing = statementRecorder.begin();
+        String exception = "none";
+        Object result = null;
+        long start = System.nanoTime();
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            List<RepositoryStatementRecorder.RecordedStatement> statements = statementRecorder.end(enclosing);
+            String method = invocation.getMethod().getName();
+            String filter = filterShape(invocation.getArguments());
+            Timer.builder(TIMER_NAME)
+                    .tag("repository", repositoryInterface.getSimpleName())
+                    .tag("method", method)
+                    .tag("filter", filter)
+                    .tag("exception", exception)
+                    .description("Time spent in repository calls")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry.get())
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+            if (durationNanos >= slowQueryThreshold.get().toNanos()) {
+                logSlowCall(method, filter, durationNanos, rowCount(invocation, result), statements);
+            }
+        }
+    }
+
+    private void logSlowCall(String method, String filter, long durationNanos, String rows,
+                             List<RepositoryStatementRecorder.RecordedStatement> statements) {
+        log.warn("Slow repository call {}.{} (filter: {}) took {} ms and returned {} rows",
+                repositoryInterface.getSimpleName(), method, filter, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                rows);
+        for (RepositoryStatementRecorder.RecordedStatement statement : statements) {
+            log.warn("  {} ms, {} binds: {}", statement.elapsedMillis(), statement.bindCount(), statement.sql());
+        }
+    }
+
+    private static String filterShape(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof OrderFilter filter) {
+                return filter.shape();
+            }
+        }
+        return "none";
+    }
+
+    private static String rowCount(MethodInvocation invocation, Object result) {
+        if (invocation.getMethod().getReturnType() == void.class) {
+            return "n/a";
+        }
+        if (result == null) {
+            return "0";
+        }
+        if (result instanceof Collection<?> collection) {
+            return String.valueOf(collection.size());
+        }
+        if (result instanceof Slice<?> slice) {
+            return String.valueOf(slice.getNumberOfElements());
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? "1" : "0";
+        }
+        return "1";
+    }
+}
@@ -0,0 +1,15 @@
+package kz.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the repository call timers.
+ *
+ * @param slowQueryThreshold repository calls taking at least this long are logged with the SQL they ran
+ */
+@ConfigurationProperties("orders.repository-metrics")
+public record RepositoryMetricsProperties(@DefaultValue("500ms") Duration slowQueryThreshold) {
+}
@@ -0,0 +1,66 @@
+package kz.orderservice.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the JDBC statements run on the current thread while a repository call is in progress, so a slow call can
+ * be logged with its SQL. Statements run outside {@link #begin()} and {@link #end(List)}, such as the inserts
+ * flushed on commit, are not recorded.
+ */
+public class RepositoryStatementRecorder implements QueryExecutionListener {
+    private final ThreadLocal<List<RecordedStatement>> statements = new ThreadLocal<>();
+
+    /**
+     * Starts recording for a repository call and returns the statements of the enclosing call, if any, which have
+     * to be passed back to {@link #end(List)}.
+     */
+    public List<RecordedStatement> begin() {
+        List<RecordedStatement> enclosing = statements.get();
+        statements.set(new ArrayList<>());
+        return enclosing;
+    }
+
+    /**
+     * Stops recording for a repository call and returns its statements. They are also added to the enclosing call.
+     */
+    public List<RecordedStatement> end(List<RecordedStatement> enclosing) {
+        List<RecordedStatement> recorded = statements.get();
+        if (enclosing == null) {
+            statements.remove();
+        } else {
+            enclosing.addAll(recorded);
+            statements.set(enclosing);
+        }
+        return recorded;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        List<RecordedStatement> recorded = statements.get();
+        if (recorded == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            int bindCount = queryInfo.getParametersList().stream()
+                    .mapToInt(List::size)
+                    .sum();
+            recorded.add(new RecordedStatement(queryInfo.getQuery(), bindCount, executionInfo.getElapsedTime()));
+        }
+    }
+
+    /**
+     * @param bindCount     parameters bound to the statement, summed over every entry of a batch
+     * @param elapsedMillis time spent executing the statement, without reading its result set
+     */
+    public record RecordedStatement(String sql, int bindCount, long elapsedMillis) {
+    }
+}
@@ -1,5 +1,6 @@
 package kz.orderservice.config;
 
+import jakarta.servlet.DispatcherType;
 import kz.orderservice.entity.user.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +14,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PATCH;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpMethod.PUT;
 
@@ -28,12 +30,20 @@ public class SecurityConfig {
         http
                 .csrf(CsrfConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/register", "/login", "/v3/api-docs/**", "/swagger-ui/**",
-                                "/swagger-ui.html", "/webjars/**").permitAll()
+                                "/swagger-ui.html", "/webjars/**", "/actuator/health").permitAll()
+                        .requestMatchers(GET, "/actuator/**").hasAnyAuthority(Role.ADMIN.name())
                         .requestMatchers(PUT, "/admin").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name())
+                        .requestMatchers("/orders/reports/**").hasAnyAuthority(Role.ADMIN.name())
                         .requestMatchers(POST, "/orders").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name())
+                        .requestMatchers(POST, "/orders/bulk").hasAnyAuthority(Role.ADMIN.name())
+                        .requestMatchers(POST, "/orders/batch").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name())
                         .requestMatchers(PUT, "/orders/**").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name())
+                        .requestMatchers(PATCH, "/orders/**").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name())
                         .requestMatchers(GET, "/orders").hasAnyAuthority(Role.ADMIN.name())
+                        .requestMatchers(GET, "/orders/export").hasAnyAuthority(Role.ADMIN.name())
+                        .requestMatchers(GET, "/orders/stats").hasAnyAuthority(Role.ADMIN.name())
                         .requestMatchers(GET, "/orders/**").hasAnyAuthority(Role.USER.name(), Role.ADMIN.name())
                         .requestMatchers(DELETE, "/orders/**").hasAnyAuthority(Role.ADMIN.name())
                         .anyRequest().authenticated())
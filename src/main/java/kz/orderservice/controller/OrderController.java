@@ -3,27 +3,47 @@ package kz.orderservice.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import kz.orderservice.dto.ErrorResponseDto;
+import kz.orderservice.dto.order.OrderBatchResponseDto;
+import kz.orderservice.dto.order.OrderBulkRequestDto;
+import kz.orderservice.dto.order.OrderBulkResponseDto;
+import kz.orderservice.dto.order.OrderPageResponseDto;
+import kz.orderservice.dto.order.OrderProductsPatchRequestDto;
 import kz.orderservice.dto.order.OrderRequestDto;
 import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.order.OrderStatsResponseDto;
+import kz.orderservice.dto.order.OrderStatusResponseDto;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
+import kz.orderservice.exception.OrderVersionMismatchException;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.service.IdempotencyService;
+import kz.orderservice.service.OrderBatchService;
+import kz.orderservice.service.OrderBulkService;
+import kz.orderservice.service.OrderExportService;
+import kz.orderservice.service.OrderReactiveLookupService;
 import kz.orderservice.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -31,8 +51,14 @@ import java.util.List;
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 public class OrderController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderBatchService orderBatchService;
+    private final OrderBulkService orderBulkService;
+    private final OrderReactiveLookupService orderReactiveLookupService;
+    private final IdempotencyService idempotencyService;
 
     @Operation(
             summary = "Create a new order",
@@ -42,15 +68,68 @@ public class OrderController {
                             content = @Content(
                                     schema = @Schema(implementation = OrderResponseDto.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "409", description = "Idempotency key reused or still in progress",
                             content = @Content(
                                     schema = @Schema(implementation = ErrorResponseDto.class)))
             }
     )
     @PostMapping
-    public ResponseEntity<OrderResponseDto> createOrder(@RequestBody @Valid OrderRequestDto orderRequestDto) {
+    public ResponseEntity<OrderResponseDto> createOrder(
+            @Parameter(description = "Key that makes retries of the request return the first response")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid OrderRequestDto orderRequestDto) {
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(orderService.createOrder(orderRequestDto));
+                .body(idempotencyService.execute(idempotencyKey, "createOrder", orderRequestDto,
+                        OrderResponseDto.class, () -> orderService.createOrder(orderRequestDto)));
+    }
+
+    @Operation(
+            summary = "Create orders in a batch",
+            description = "Creates every valid order of the list. Each order is validated and saved on its own "
+                    + "merits, so the response reports the result of every order in the order of the request",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed",
+                            content = @Content(
+                                    schema = @Schema(implementation = OrderBatchResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "409", description = "Idempotency key reused or still in progress",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<OrderBatchResponseDto> createOrders(
+            @Parameter(description = "Key that makes retries of the request return the first response")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody List<OrderRequestDto> orderRequestDtos) {
+        return ResponseEntity
+                .ok(idempotencyService.execute(idempotencyKey, "createOrders", orderRequestDtos,
+                        OrderBatchResponseDto.class, () -> orderBatchService.createOrders(orderRequestDtos)));
+    }
+
+    @Operation(
+            summary = "Soft delete or change the status of many orders",
+            description = "Applies the operation to the orders selected either by ids or by status and price range "
+                    + "filters. Status changes follow the same transitions as single orders",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Operation applied",
+                            content = @Content(
+                                    schema = @Schema(implementation = OrderBulkResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<OrderBulkResponseDto> applyBulkOperation(
+            @RequestBody @Valid OrderBulkRequestDto bulkRequestDto) {
+        return ResponseEntity
+                .ok(orderBulkService.applyBulkOperation(bulkRequestDto));
     }
 
     @Operation(
@@ -64,46 +143,171 @@ public class OrderController {
                             content = @Content(
                                     schema = @Schema(implementation = ErrorResponseDto.class))),
                     @ApiResponse(responseCode = "404", description = "Order not found",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "412", description = "Order version does not match If-Match",
                             content = @Content(
                                     schema = @Schema(implementation = ErrorResponseDto.class)))
             }
     )
     @PutMapping("/{orderId}")
     public ResponseEntity<OrderResponseDto> updateOrder(@PathVariable Long orderId,
-                                                        @RequestBody @Valid OrderRequestDto orderRequestDto) {
-        OrderResponseDto orderResponseDto = orderService.updateOrder(orderId, orderRequestDto);
-        return ResponseEntity.ok(orderResponseDto);
+                                                        @RequestBody @Valid OrderRequestDto orderRequestDto,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                        String ifMatch) {
+        OrderResponseDto orderResponseDto = orderService.updateOrder(orderId, orderRequestDto, parseIfMatch(ifMatch));
+        return okWithETag(orderResponseDto, orderResponseDto.getVersion());
+    }
+
+    @Operation(
+            summary = "Change some products of an order by ID",
+            description = "Removes, updates in place or adds the listed products of the order identified by the "
+                    + "provided order ID and leaves its other products untouched",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Order products changed successfully",
+                            content = @Content(
+                                    schema = @Schema(implementation = OrderResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Order or product not found",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "412", description = "Order version does not match If-Match",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PatchMapping("/{orderId}/products")
+    public ResponseEntity<OrderResponseDto> patchOrderProducts(
+            @PathVariable Long orderId, @RequestBody @Valid OrderProductsPatchRequestDto patchRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderResponseDto orderResponseDto =
+                orderService.patchOrderProducts(orderId, patchRequestDto, parseIfMatch(ifMatch));
+        return okWithETag(orderResponseDto, orderResponseDto.getVersion());
+    }
+
+    @Operation(
+            summary = "Change the status of an order by ID",
+            description = "Moves the order identified by the provided order ID to the requested status. A pending "
+                    + "order can be confirmed or cancelled and a confirmed order can be cancelled",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Order status changed successfully",
+                            content = @Content(
+                                    schema = @Schema(implementation = OrderStatusResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Order not found",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "409", description = "Transition from the current status is not allowed",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class))),
+                    @ApiResponse(responseCode = "412", description = "Order version does not match If-Match",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PatchMapping("/{orderId}/status")
+    public ResponseEntity<OrderStatusResponseDto> updateOrderStatus(
+            @PathVariable Long orderId, @RequestBody @Valid OrderStatusUpdateRequestDto statusRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderStatusResponseDto statusResponseDto =
+                orderService.updateOrderStatus(orderId, statusRequestDto, parseIfMatch(ifMatch));
+        return okWithETag(statusResponseDto, statusResponseDto.getVersion());
     }
 
     @Operation(
             summary = "Get orders with optional filters",
-            description = "Fetches a list of orders, optionally filtered by order status and price range",
+            description = "Fetches a page of orders, optionally filtered by order status and price range. "
+                    + "Pass the returned nextCursor to fetch the following page",
             parameters = {
                     @Parameter(name = "status", description = "Filter orders by status", example = "PENDING"),
                     @Parameter(name = "minPrice", description = "Filter orders by minimum price", example = "100.0"),
-                    @Parameter(name = "maxPrice", description = "Filter orders by maximum price", example = "5000.0")
+                    @Parameter(name = "maxPrice", description = "Filter orders by maximum price", example = "5000.0"),
+                    @Parameter(name = "sortBy", description = "Sort key of the pages, orderId by default",
+                            schema = @Schema(allowableValues = {"orderId", "totalPrice"})),
+                    @Parameter(name = "cursor", description = "Cursor returned as nextCursor by the previous page"),
+                    @Parameter(name = "size", description = "Page size, from 1 to 100", example = "20")
             },
             responses = {
-                    @ApiResponse(responseCode = "200", description = "List of orders fetched successfully",
+                    @ApiResponse(responseCode = "200", description = "Page of orders fetched successfully",
                             content = @Content(
-                                    array = @ArraySchema(
-                                            schema = @Schema(implementation = OrderResponseDto.class)))),
+                                    schema = @Schema(implementation = OrderPageResponseDto.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid input data",
                             content = @Content(
                                     schema = @Schema(implementation = ErrorResponseDto.class)))
             }
     )
     @GetMapping
-    public ResponseEntity<List<OrderResponseDto>> getOrders(@RequestParam(required = false) String status,
-                                                            @RequestParam(required = false) Double minPrice,
-                                                            @RequestParam(required = false) Double maxPrice) {
+    public ResponseEntity<OrderPageResponseDto> getOrders(@RequestParam(required = false) String status,
+                                                          @RequestParam(required = false) Double minPrice,
+                                                          @RequestParam(required = false) Double maxPrice,
+                                                          @RequestParam(required = false) String sortBy,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity
+                .ok(orderService.getOrdersWithFilters(status, minPrice, maxPrice, sortBy, cursor, size));
+    }
+
+    @Operation(
+            summary = "Get order statistics with optional filters",
+            description = "Computes the number of orders, the revenue and the average, minimum and maximum "
+                    + "order price per order status, optionally filtered by order status and price range",
+            parameters = {
+                    @Parameter(name = "status", description = "Filter orders by status", example = "CONFIRMED"),
+                    @Parameter(name = "minPrice", description = "Filter orders by minimum price", example = "100.0"),
+                    @Parameter(name = "maxPrice", description = "Filter orders by maximum price", example = "5000.0")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statistics computed successfully",
+                            content = @Content(
+                                    schema = @Schema(implementation = OrderStatsResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsResponseDto> getOrderStats(@RequestParam(required = false) String status,
+                                                               @RequestParam(required = false) Double minPrice,
+                                                               @RequestParam(required = false) Double maxPrice) {
+        return ResponseEntity
+                .ok(orderService.getOrderStats(status, minPrice, maxPrice));
+    }
+
+    @Operation(
+            summary = "Export orders with optional filters",
+            description = "Streams every order matching the filters as newline-delimited JSON, one order per line",
+            parameters = {
+                    @Parameter(name = "status", description = "Filter orders by status", example = "PENDING"),
+                    @Parameter(name = "minPrice", description = "Filter orders by minimum price", example = "100.0"),
+                    @Parameter(name = "maxPrice", description = "Filter orders by maximum price", example = "5000.0")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Orders streamed successfully",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = OrderResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) String status,
+                                                              @RequestParam(required = false) Double minPrice,
+                                                              @RequestParam(required = false) Double maxPrice) {
+        OrderFilter filter = OrderFilter.of(status, minPrice, maxPrice);
         return ResponseEntity
-                .ok(orderService.getOrdersWithFilters(status, minPrice, maxPrice));
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> orderExportService.exportOrders(filter, outputStream));
     }
 
     @Operation(
             summary = "Get order by ID",
-            description = "Fetches an order by ID",
+            description = "Fetches an order by ID without blocking a request thread while it is read",
             parameters = {
                     @Parameter(name = "orderId", description = "The unique identifier of the order", example = "1", required = true)
             },
@@ -117,9 +321,9 @@ public class OrderController {
             }
     )
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponseDto> getOrders(@PathVariable Long orderId) {
-        return ResponseEntity
-                .ok(orderService.getOrderById(orderId));
+    public Mono<ResponseEntity<OrderResponseDto>> getOrders(@PathVariable Long orderId) {
+        return orderReactiveLookupService.getOrderById(orderId)
+                .map(orderResponseDto -> okWithETag(orderResponseDto, orderResponseDto.getVersion()));
     }
 
     @Operation(
@@ -142,4 +346,32 @@ public class OrderController {
                 .noContent()
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the order version from an If-Match header holding one ETag, such as {@code "3"}. A missing header or
+     * {@code *} means that any version may be changed. If-Match compares ETags strongly (RFC 9110, section
+     * 13.1.1), so a weak ETag such as {@code W/"3"} never matches and the request fails with 412.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            throw new OrderVersionMismatchException("If-Match does not match the weak ETag: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(eTag.replace("\"", ""));
+        } catch (NumberFormatException exception) {
+            throw new OrderVersionMismatchException("If-Match does not hold an order version: " + ifMatch);
+        }
+    }
+
+    private static <T> ResponseEntity<T> okWithETag(T body, Long version) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (version != null) {
+            responseBuilder.eTag(String.valueOf(version));
+        }
+        return responseBuilder.body(body);
+    }
+}
@@ -0,0 +1,84 @@
+package kz.orderservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import kz.orderservice.dto.ErrorResponseDto;
+import kz.orderservice.dto.report.DailyRevenueRebuildResponseDto;
+import kz.orderservice.dto.report.DailyRevenueReportDto;
+import kz.orderservice.service.OrderReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/orders/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final OrderReportService orderReportService;
+
+    @Operation(
+            summary = "Get daily revenue",
+            description = "Fetches the number of orders and the revenue per day and status for a range of days, "
+                    + "optionally filtered by order status",
+            parameters = {
+                    @Parameter(name = "from", description = "First day of the range", example = "2025-01-01",
+                            required = true),
+                    @Parameter(name = "to", description = "Last day of the range", example = "2025-01-31",
+                            required = true),
+                    @Parameter(name = "status", description = "Filter orders by status", example = "CONFIRMED")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Daily revenue fetched successfully",
+                            content = @Content(
+                                    schema = @Schema(implementation = DailyRevenueReportDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @GetMapping("/daily-revenue")
+    public ResponseEntity<DailyRevenueReportDto> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status) {
+        return ResponseEntity
+                .ok(orderReportService.getDailyRevenue(from, to, status));
+    }
+
+    @Operation(
+            summary = "Rebuild daily revenue",
+            description = "Recomputes the daily revenue of a range of days from the orders",
+            parameters = {
+                    @Parameter(name = "from", description = "First day of the range", example = "2025-01-01",
+                            required = true),
+                    @Parameter(name = "to", description = "Last day of the range", example = "2025-01-31",
+                            required = true)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Daily revenue rebuilt successfully",
+                            content = @Content(
+                                    schema = @Schema(implementation = DailyRevenueRebuildResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input data",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponseDto.class)))
+            }
+    )
+    @PostMapping("/daily-revenue/rebuild")
+    public ResponseEntity<DailyRevenueRebuildResponseDto> rebuildDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity
+                .ok(orderReportService.rebuildDailyRevenue(from, to));
+    }
+}
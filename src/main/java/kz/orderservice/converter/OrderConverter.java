@@ -2,11 +2,15 @@ package kz.orderservice.converter;
 
 import kz.orderservice.dto.order.OrderRequestDto;
 import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.order.OrderStatusStatsDto;
 import kz.orderservice.entity.Order;
 import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.repository.OrderStatusStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+
 @Component
 @RequiredArgsConstructor
 public class OrderConverter {
@@ -26,11 +30,28 @@ public class OrderConverter {
         orderResponseDto.setOrderId(order.getOrderId());
         orderResponseDto.setCustomerName(order.getCustomerName());
         orderResponseDto.setStatus(order.getStatus());
-        orderResponseDto.setTotalPrice(order.getTotalPrice());
+        orderResponseDto.setTotalPrice(toDouble(order.getTotalPrice()));
         orderResponseDto.setProducts(
                 order.getProducts().stream()
                         .map(productConverter::entityToResponseDto).toList());
         orderResponseDto.setIsDeleted(order.getIsDeleted());
+        orderResponseDto.setCreatedAt(order.getCreatedAt());
+        orderResponseDto.setVersion(order.getVersion());
         return orderResponseDto;
     }
+
+    public OrderStatusStatsDto statsToDto(OrderStatusStats orderStatusStats) {
+        return OrderStatusStatsDto.builder()
+                .status(orderStatusStats.status())
+                .orderCount(orderStatusStats.orderCount())
+                .revenue(toDouble(orderStatusStats.revenue()))
+                .averagePrice(orderStatusStats.averagePrice())
+                .minPrice(toDouble(orderStatusStats.minPrice()))
+                .maxPrice(toDouble(orderStatusStats.maxPrice()))
+                .build();
+    }
+
+    private static Double toDouble(BigDecimal price) {
+        return price != null ? price.doubleValue() : null;
+    }
 }
@@ -16,6 +16,12 @@ public class ProductConverter {
         return product;
     }
 
+    public void updateEntity(Product product, ProductRequestDto productRequestDto) {
+        product.setName(productRequestDto.getName());
+        product.setPrice(productRequestDto.getPrice());
+        product.setQuantity(productRequestDto.getQuantity());
+    }
+
     public ProductResponseDto entityToResponseDto(Product product){
         ProductResponseDto productResponseDto = new ProductResponseDto();
         productResponseDto.setProductId(product.getProductId());
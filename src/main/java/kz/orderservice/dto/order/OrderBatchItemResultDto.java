@@ -0,0 +1,26 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchItemResultDto {
+    @Schema(description = "Position of the order in the request list, starting from 0", example = "0")
+    private Integer index;
+
+    @Schema(description = "Outcome of the order", example = "CREATED")
+    private OrderBatchItemStatus status;
+
+    @Schema(description = "Created order, absent when the order failed")
+    private OrderResponseDto order;
+
+    @Schema(description = "Reason of the failure, absent when the order was created",
+            example = "products: Products list should not be empty")
+    private String error;
+}
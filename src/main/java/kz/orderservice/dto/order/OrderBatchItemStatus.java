@@ -0,0 +1,6 @@
+package kz.orderservice.dto.order;
+
+public enum OrderBatchItemStatus {
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,24 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResponseDto {
+    @Schema(description = "Number of created orders", example = "2")
+    private Integer created;
+
+    @Schema(description = "Number of failed orders", example = "1")
+    private Integer failed;
+
+    @Schema(description = "Result of every order, in the order of the request")
+    private List<OrderBatchItemResultDto> results;
+}
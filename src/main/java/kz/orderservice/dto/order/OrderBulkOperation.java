@@ -0,0 +1,6 @@
+package kz.orderservice.dto.order;
+
+public enum OrderBulkOperation {
+    SOFT_DELETE,
+    CHANGE_STATUS
+}
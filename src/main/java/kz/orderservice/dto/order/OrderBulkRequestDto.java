@@ -0,0 +1,38 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkRequestDto {
+
+    @NotNull(message = "Operation should not be null")
+    @Schema(description = "Operation to apply to the selected orders", example = "SOFT_DELETE")
+    private OrderBulkOperation operation;
+
+    @Schema(description = "New status of the orders, required for CHANGE_STATUS", example = "CANCELLED",
+            allowableValues = {"CONFIRMED", "CANCELLED"})
+    private String orderStatus;
+
+    @Schema(description = "IDs of the orders to apply the operation to. When empty, the filters select the orders",
+            example = "[1, 2, 3]")
+    private List<@NotNull(message = "Order ID cannot be null") Long> orderIds;
+
+    @Schema(description = "Select orders by status", example = "PENDING")
+    private String status;
+
+    @Schema(description = "Select orders by minimum price", example = "100.0")
+    private Double minPrice;
+
+    @Schema(description = "Select orders by maximum price", example = "5000.0")
+    private Double maxPrice;
+}
@@ -0,0 +1,16 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkResponseDto {
+    @Schema(description = "Number of orders changed by the operation", example = "1500")
+    private Integer affectedRows;
+}
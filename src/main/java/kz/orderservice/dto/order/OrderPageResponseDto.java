@@ -0,0 +1,21 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponseDto {
+    @Schema(description = "Orders of the current page")
+    private List<OrderResponseDto> orders;
+
+    @Schema(description = "Opaque cursor of the next page, absent on the last page", example = "T1JERVJfSUQ6MzAwMDAuMDoyMA")
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import kz.orderservice.dto.product.ProductRequestDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderProductsPatchRequestDto {
+
+    @Valid
+    @Builder.Default
+    @Schema(description = "Products to add, or to update in place when they carry a productId")
+    private List<@NotNull(message = "Product cannot be null") ProductRequestDto> products = new ArrayList<>();
+
+    @Builder.Default
+    @Schema(description = "IDs of the products to remove from the order", example = "[2, 3]")
+    private List<@NotNull(message = "Product ID cannot be null") Long> removedProductIds = new ArrayList<>();
+}
@@ -8,10 +8,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderResponseDto {
@@ -32,4 +33,10 @@ public class OrderResponseDto {
 
     @Schema(description = "Indicates whether the order is deleted", example = "false")
     private Boolean isDeleted;
+
+    @Schema(description = "Time the order was created", example = "2025-01-15T10:30:00Z")
+    private Instant createdAt;
+
+    @Schema(description = "Version of the order, sent as ETag and expected back in If-Match", example = "3")
+    private Long version;
 }
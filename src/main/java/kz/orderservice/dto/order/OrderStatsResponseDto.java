@@ -0,0 +1,24 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsResponseDto {
+    @Schema(description = "Number of orders matching the filters", example = "42")
+    private Long orderCount;
+
+    @Schema(description = "Sum of the total prices of the orders matching the filters", example = "126000.0")
+    private Double revenue;
+
+    @Schema(description = "Statistics per order status, only for statuses with matching orders")
+    private List<OrderStatusStatsDto> statuses;
+}
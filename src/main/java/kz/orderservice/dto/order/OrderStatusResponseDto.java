@@ -0,0 +1,23 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import kz.orderservice.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponseDto {
+    @Schema(description = "Unique identifier of the order", example = "1")
+    private Long orderId;
+
+    @Schema(description = "Status the order was moved to", example = "CONFIRMED")
+    private OrderStatus status;
+
+    @Schema(description = "Version of the order after the change", example = "4")
+    private Long version;
+}
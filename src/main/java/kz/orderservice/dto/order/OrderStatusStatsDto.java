@@ -0,0 +1,32 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import kz.orderservice.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusStatsDto {
+    @Schema(description = "Status of the orders", example = "CONFIRMED")
+    private OrderStatus status;
+
+    @Schema(description = "Number of orders", example = "42")
+    private Long orderCount;
+
+    @Schema(description = "Sum of the total prices of the orders", example = "126000.0")
+    private Double revenue;
+
+    @Schema(description = "Average total price of the orders", example = "3000.0")
+    private Double averagePrice;
+
+    @Schema(description = "Lowest total price of the orders", example = "150.0")
+    private Double minPrice;
+
+    @Schema(description = "Highest total price of the orders", example = "9800.0")
+    private Double maxPrice;
+}
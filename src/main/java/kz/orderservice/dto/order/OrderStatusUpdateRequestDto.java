@@ -0,0 +1,19 @@
+package kz.orderservice.dto.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateRequestDto {
+
+    @NotBlank(message = "Order Status should not be blank")
+    @Schema(description = "New status of the order", example = "CONFIRMED", allowableValues = {"CONFIRMED", "CANCELLED"})
+    private String orderStatus;
+}
@@ -14,6 +14,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductRequestDto {
+    @Schema(description = "ID of the product of the order to update in place. Leave empty to add a new product, "
+            + "it is ignored when an order is created", example = "1")
+    private Long productId;
+
     @NotBlank(message = "Product Name should not be blank")
     @Schema(description = "Name of the product", example = "Laptop")
     private String name;
@@ -0,0 +1,28 @@
+package kz.orderservice.dto.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import kz.orderservice.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueDto {
+    @Schema(description = "Day the orders were created on (UTC)", example = "2025-01-15")
+    private LocalDate day;
+
+    @Schema(description = "Status of the orders", example = "CONFIRMED")
+    private OrderStatus status;
+
+    @Schema(description = "Number of orders", example = "42")
+    private Long orderCount;
+
+    @Schema(description = "Sum of the total prices of the orders", example = "126000.0")
+    private Double revenue;
+}
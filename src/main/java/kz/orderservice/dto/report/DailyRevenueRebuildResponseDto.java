@@ -0,0 +1,24 @@
+package kz.orderservice.dto.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueRebuildResponseDto {
+    @Schema(description = "First rebuilt day", example = "2025-01-01")
+    private LocalDate from;
+
+    @Schema(description = "Last rebuilt day", example = "2025-01-31")
+    private LocalDate to;
+
+    @Schema(description = "Number of rollup rows written", example = "93")
+    private Integer rows;
+}
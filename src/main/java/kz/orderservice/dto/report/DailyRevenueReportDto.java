@@ -0,0 +1,24 @@
+package kz.orderservice.dto.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueReportDto {
+    @Schema(description = "Number of orders in the reported range", example = "420")
+    private Long orderCount;
+
+    @Schema(description = "Revenue of the reported range", example = "1260000.0")
+    private Double revenue;
+
+    @Schema(description = "Rows of the report per day and status, only for days with orders")
+    private List<DailyRevenueDto> days;
+}
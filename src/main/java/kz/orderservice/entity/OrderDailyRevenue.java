@@ -0,0 +1,37 @@
+package kz.orderservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Number and revenue of the active orders created on one day (UTC) with one status. The
+ * {@code orders_maintain_daily_revenue} database trigger records every insert, update and delete of an order as a
+ * signed delta in {@code order_revenue_delta}, and {@code OrderReportService} folds the deltas into these rows.
+ */
+@Table(name = "order_daily_revenue")
+@Entity
+@Immutable
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDailyRevenue {
+
+    @EmbeddedId
+    private OrderDailyRevenueId id;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+}
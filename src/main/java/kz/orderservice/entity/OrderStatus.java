@@ -3,6 +3,9 @@ package kz.orderservice.entity;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @Getter
 @AllArgsConstructor
 public enum OrderStatus {
@@ -12,6 +15,18 @@ public enum OrderStatus {
 
     private final String textVal;
 
+    /**
+     * Statuses from which an order may be moved to this status: a pending order can be confirmed or cancelled and
+     * a confirmed order can still be cancelled, while no order goes back to pending.
+     */
+    public Set<OrderStatus> getSourceStatuses() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(OrderStatus.class);
+            case CONFIRMED -> EnumSet.of(PENDING);
+            case CANCELLED -> EnumSet.of(PENDING, CONFIRMED);
+        };
+    }
+
     public static OrderStatus fromString(String text) {
         for (OrderStatus status : OrderStatus.values()) {
             if (status.textVal.equalsIgnoreCase(text)) {
@@ -0,0 +1,8 @@
+package kz.orderservice.exception;
+
+public class OrderStatusConflictException extends RuntimeException {
+
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
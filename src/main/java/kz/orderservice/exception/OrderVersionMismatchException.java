@@ -0,0 +1,8 @@
+package kz.orderservice.exception;
+
+public class OrderVersionMismatchException extends RuntimeException {
+
+    public OrderVersionMismatchException(String message) {
+        super(message);
+    }
+}
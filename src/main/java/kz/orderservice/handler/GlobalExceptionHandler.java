@@ -2,8 +2,15 @@ package kz.orderservice.handler;
 
 import jakarta.persistence.EntityNotFoundException;
 import kz.orderservice.dto.ErrorResponseDto;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.exception.IdempotencyKeyConflictException;
+import kz.orderservice.exception.OrderStatusConflictException;
+import kz.orderservice.exception.OrderVersionMismatchException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -47,6 +54,72 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponseDto handleBadRequestException(BadRequestException exception) {
+        log.error(exception.getMessage());
+        return ErrorResponseDto
+                .builder()
+                .error("Bad Request")
+                .errorMessage(exception.getMessage())
+                .build();
+    }
+
+    @ExceptionHandler(OrderStatusConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponseDto handleOrderStatusConflictException(OrderStatusConflictException exception) {
+        log.error(exception.getMessage());
+        return ErrorResponseDto
+                .builder()
+                .error("Conflict")
+                .errorMessage(exception.getMessage())
+                .build();
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponseDto handleIdempotencyKeyConflictException(IdempotencyKeyConflictException exception) {
+        log.error(exception.getMessage());
+        return ErrorResponseDto
+                .builder()
+                .error("Conflict")
+                .errorMessage(exception.getMessage())
+                .build();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponseDto handleOptimisticLockingFailureException(OptimisticLockingFailureException exception) {
+        log.error(exception.getMessage());
+        return ErrorResponseDto
+                .builder()
+                .error("Conflict")
+                .errorMessage("The order was changed concurrently, please retry")
+                .build();
+    }
+
+    @ExceptionHandler(OrderVersionMismatchException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorResponseDto handleOrderVersionMismatchException(OrderVersionMismatchException exception) {
+        log.error(exception.getMessage());
+        return ErrorResponseDto
+                .builder()
+                .error("Precondition Failed")
+                .errorMessage(exception.getMessage())
+                .build();
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponseDto handleDatabaseUnavailableException(RuntimeException exception) {
+        log.error(exception.getMessage());
+        return ErrorResponseDto
+                .builder()
+                .error("Service Unavailable")
+                .errorMessage("The database is busy, please retry")
+                .build();
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponseDto handleHttpMessageNotReadableException(Exception exception) {
@@ -0,0 +1,18 @@
+package kz.orderservice.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Number and revenue of the active orders created on one day (UTC) with one status, read from the rollup together
+ * with its pending deltas.
+ */
+public interface DailyRevenueRow {
+
+    LocalDate getDay();
+
+    String getStatus();
+
+    Long getOrderCount();
+
+    Double getRevenue();
+}
@@ -0,0 +1,11 @@
+package kz.orderservice.repository;
+
+/**
+ * Stored idempotency key. {@code responseBody} is {@code null} while the first request with the key is running.
+ */
+public record IdempotencyKeyRecord(String requestHash, String responseBody) {
+
+    public boolean isCompleted() {
+        return responseBody != null;
+    }
+}
@@ -0,0 +1,76 @@
+package kz.orderservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys of the customers, stored with the hash of the first request and, once it completed, its
+ * response. Statements run outside of the JPA persistence context, so a key completed by another request or node
+ * is visible on the next read, and join the transaction of the caller when there is one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stores the key as pending under {@code claimToken}. Also takes over a pending key for the same request whose
+     * claim is older than {@code lease}, because the request that claimed it died or its node went away before it
+     * completed or released the key. Returns {@code false} when the customer already used the key otherwise.
+     */
+    public boolean claim(String customerName, String keyHash, String requestHash, UUID claimToken, Duration lease) {
+        return jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (customer_name, key_hash, request_hash, claimed_at, claim_token)
+                VALUES (?, ?, ?, now(), ?)
+                ON CONFLICT (customer_name, key_hash) DO UPDATE
+                    SET claimed_at = now(), claim_token = EXCLUDED.claim_token
+                    WHERE idempotency_keys.response_body IS NULL
+                      AND idempotency_keys.request_hash = EXCLUDED.request_hash
+                      AND idempotency_keys.claimed_at < now() - ? * INTERVAL '1 millisecond'
+                """, customerName, keyHash, requestHash, claimToken, lease.toMillis()) == 1;
+    }
+
+    public Optional<IdempotencyKeyRecord> find(String customerName, String keyHash) {
+        return jdbcTemplate.query("""
+                        SELECT request_hash, response_body FROM idempotency_keys
+                        WHERE customer_name = ? AND key_hash = ?
+                        """,
+                (resultSet, rowNum) -> new IdempotencyKeyRecord(resultSet.getString("request_hash"),
+                        resultSet.getString("response_body")),
+                customerName, keyHash).stream().findFirst();
+    }
+
+    /**
+     * Stores the response of a pending key. Returns {@code false} when the claim was taken over in the meantime.
+     * Run in the transaction of the action, so the key is completed exactly when the action commits; the row lock
+     * it takes keeps another request from taking the claim over until then.
+     */
+    public boolean complete(String customerName, String keyHash, UUID claimToken, String responseBody) {
+        return jdbcTemplate.update("""
+                UPDATE idempotency_keys SET response_body = ?
+                WHERE customer_name = ? AND key_hash = ? AND claim_token = ? AND response_body IS NULL
+                """, responseBody, customerName, keyHash, claimToken) == 1;
+    }
+
+    /**
+     * Removes a pending key, so the request can be retried with it after it failed. Does nothing when the claim
+     * was taken over in the meantime.
+     */
+    public void release(String customerName, String keyHash, UUID claimToken) {
+        jdbcTemplate.update("""
+                DELETE FROM idempotency_keys
+                WHERE customer_name = ? AND key_hash = ? AND claim_token = ? AND response_body IS NULL
+                """, customerName, keyHash, claimToken);
+    }
+
+    public int deleteCreatedBefore(Instant before) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?", Timestamp.from(before));
+    }
+}
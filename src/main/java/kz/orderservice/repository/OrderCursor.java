@@ -0,0 +1,68 @@
+package kz.orderservice.repository;
+
+import jakarta.persistence.criteria.Path;
+import kz.orderservice.entity.Order;
+import kz.orderservice.exception.BadRequestException;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page. Clients receive it as an opaque URL-safe string and send it back to get
+ * the next page, which is then selected with a seek predicate instead of an OFFSET. The last price is kept as
+ * the exact decimal stored in {@code orders.total_price}, so the seek neither skips nor repeats rows of that price.
+ */
+public record OrderCursor(OrderSortKey sortKey, BigDecimal lastTotalPrice, Long lastOrderId) {
+
+    private static final String SEPARATOR = ":";
+
+    public static OrderCursor after(OrderSortKey sortKey, Order order) {
+        return new OrderCursor(sortKey, order.getTotalPrice(), order.getOrderId());
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected number of cursor parts: " + parts.length);
+            }
+            OrderSortKey sortKey = OrderSortKey.valueOf(parts[0]);
+            BigDecimal lastTotalPrice = parts[1].isEmpty() ? null : new BigDecimal(parts[1]);
+            if (sortKey == OrderSortKey.TOTAL_PRICE && lastTotalPrice == null) {
+                throw new IllegalArgumentException("Cursor sorted by total price has no price");
+            }
+            return new OrderCursor(sortKey, lastTotalPrice, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid cursor: " + cursor, exception);
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR
+                + (lastTotalPrice != null ? lastTotalPrice.toPlainString() : "") + SEPARATOR
+                + lastOrderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rows strictly after this cursor in {@link #sortKey()} order. For the price ordering the redundant
+     * {@code totalPrice >= last} conjunct lets the planner start an index range scan at the last seen price.
+     */
+    public Specification<Order> toSpecification() {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> orderId = root.get("orderId");
+            if (sortKey == OrderSortKey.ORDER_ID) {
+                return criteriaBuilder.greaterThan(orderId, lastOrderId);
+            }
+            Path<BigDecimal> totalPrice = root.get("totalPrice");
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(totalPrice, lastTotalPrice),
+                    criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(totalPrice, lastTotalPrice),
+                            criteriaBuilder.greaterThan(orderId, lastOrderId)));
+        };
+    }
+}
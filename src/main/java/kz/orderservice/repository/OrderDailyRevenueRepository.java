@@ -0,0 +1,122 @@
+package kz.orderservice.repository;
+
+import kz.orderservice.entity.OrderDailyRevenue;
+import kz.orderservice.entity.OrderDailyRevenueId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyRevenueRepository extends JpaRepository<OrderDailyRevenue, OrderDailyRevenueId> {
+
+    /**
+     * Reads the rollup rows of the range with the deltas that were not folded into them yet, so the result is
+     * exact even between two runs of {@link #foldDeltas(int)}.
+     */
+    @Query(value = """
+            SELECT day AS day, status AS status, SUM(order_count) AS "orderCount", SUM(revenue) AS revenue
+            FROM (SELECT day, status, order_count, revenue
+                  FROM order_daily_revenue
+                  WHERE day BETWEEN :from AND :to
+                  UNION ALL
+                  SELECT day, status, count_delta, revenue_delta
+                  FROM order_revenue_delta
+                  WHERE day BETWEEN :from AND :to) AS days
+            WHERE CAST(:status AS VARCHAR) IS NULL OR status = CAST(:status AS VARCHAR)
+            GROUP BY day, status
+            HAVING SUM(order_count) > 0
+            ORDER BY day, status
+            """, nativeQuery = true)
+    List<DailyRevenueRow> findDays(@Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("status") String status);
+
+    /**
+     * Moves at most {@code batchSize} of the oldest deltas written by the {@code orders_maintain_daily_revenue}
+     * trigger into the rollup rows and returns the number of rollup rows changed. Deltas locked by another fold
+     * are skipped, and rows are upserted in key order, so concurrent folds neither wait for nor deadlock with each
+     * other.
+     */
+    @Modifying
+    @Query(value = """
+            WITH folded AS (
+                DELETE FROM order_revenue_delta
+                WHERE delta_id IN (SELECT delta_id
+                                   FROM order_revenue_delta
+                                   ORDER BY delta_id
+                                   LIMIT :batchSize
+                                   FOR UPDATE SKIP LOCKED)
+                RETURNING day, status, count_delta, revenue_delta
+            )
+            INSERT INTO order_daily_revenue (day, status, order_count, revenue)
+            SELECT day, status, SUM(count_delta), SUM(revenue_delta)
+            FROM folded
+            GROUP BY day, status
+            ORDER BY day, status
+            ON CONFLICT (day, status) DO UPDATE
+                SET order_count = order_daily_revenue.order_count + EXCLUDED.order_count,
+                    revenue     = order_daily_revenue.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    int foldDeltas(@Param("batchSize") int batchSize);
+
+    /**
+     * Takes the rollup advisory lock in shared mode until the end of the transaction. Folds share it with each
+     * other and only wait for a rebuild; order writes never take it.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(hashtext('order_daily_revenue'))", nativeQuery = true)
+    int lockRollupForFold();
+
+    /**
+     * Takes the rollup advisory lock in exclusive mode until the end of the transaction, so no fold changes the
+     * rollup rows or deletes deltas while a range is rebuilt.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('order_daily_revenue'))", nativeQuery = true)
+    int lockRollupForRebuild();
+
+    /**
+     * Replaces the rollup rows of the days {@code fromDay} to {@code toDay} with aggregates of the orders created
+     * from {@code from} to {@code to}, and drops the deltas of those days. It is a single statement, so the deltas
+     * it drops are exactly those of the order writes its aggregates see. Deltas of writes that commit later are
+     * kept and folded on top of the rebuilt rows. Returns the number of rollup rows written.
+     */
+    @Modifying
+    @Query(value = """
+            WITH dropped_deltas AS (
+                DELETE FROM order_revenue_delta
+                WHERE day BETWEEN :fromDay AND :toDay
+            ),
+            rebuilt AS (
+                SELECT CAST(created_at AT TIME ZONE 'UTC' AS DATE) AS day, status, COUNT(*) AS order_count,
+                       SUM(total_price) AS revenue
+                FROM orders
+                WHERE is_deleted = false
+                  AND created_at >= :from
+                  AND created_at < :to
+                GROUP BY 1, 2
+            ),
+            dropped_days AS (
+                DELETE FROM order_daily_revenue
+                WHERE day BETWEEN :fromDay AND :toDay
+                  AND NOT EXISTS (SELECT 1
+                                  FROM rebuilt
+                                  WHERE rebuilt.day = order_daily_revenue.day
+                                    AND rebuilt.status = order_daily_revenue.status)
+            )
+            INSERT INTO order_daily_revenue (day, status, order_count, revenue)
+            SELECT day, status, order_count, revenue
+            FROM rebuilt
+            ON CONFLICT (day, status) DO UPDATE
+                SET order_count = EXCLUDED.order_count,
+                    revenue     = EXCLUDED.revenue
+            """, nativeQuery = true)
+    int rebuildDays(@Param("fromDay") LocalDate fromDay,
+                    @Param("toDay") LocalDate toDay,
+                    @Param("from") Instant from,
+                    @Param("to") Instant to);
+}
@@ -0,0 +1,65 @@
+package kz.orderservice.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Optional filters accepted by the order list endpoints. Soft-deleted orders are always excluded. The price bounds
+ * are decimals like {@code orders.total_price}, so they are bound as numeric and the price indexes stay usable.
+ */
+public record OrderFilter(OrderStatus status, BigDecimal minPrice, BigDecimal maxPrice) {
+
+    public static OrderFilter of(String status, Double minPrice, Double maxPrice) {
+        return new OrderFilter(status != null ? OrderStatus.fromString(status) : null,
+                toPrice(minPrice), toPrice(maxPrice));
+    }
+
+    /**
+     * Names the filters that are set, e.g. {@code status+maxPrice}, or {@code none}. Used as a metric tag, so it
+     * never contains the filter values.
+     */
+    public String shape() {
+        StringJoiner shape = new StringJoiner("+").setEmptyValue("none");
+        if (status != null) {
+            shape.add("status");
+        }
+        if (minPrice != null) {
+            shape.add("minPrice");
+        }
+        if (maxPrice != null) {
+            shape.add("maxPrice");
+        }
+        return shape.toString();
+    }
+
+    public Specification<Order> toSpecification() {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), status));
+            }
+
+            if (minPrice != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("totalPrice"), minPrice));
+            }
+
+            if (maxPrice != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("totalPrice"), maxPrice));
+            }
+            predicates.add(criteriaBuilder.isFalse(root.get("isDeleted")));
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static BigDecimal toPrice(Double price) {
+        return price != null ? BigDecimal.valueOf(price) : null;
+    }
+}
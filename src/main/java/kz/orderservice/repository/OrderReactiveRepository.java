@@ -0,0 +1,121 @@
+package kz.orderservice.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.product.ProductResponseDto;
+import kz.orderservice.entity.OrderStatus;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Non-blocking reads of orders over R2DBC. The connection pool is owned by this repository instead of being a
+ * {@code ConnectionFactory} bean, because such a bean would make Spring Boot skip the JDBC {@code DataSource} that
+ * JPA and Liquibase run on. The pool shares {@code orders.db-connections.max-total} with the Hikari pool and
+ * publishes the same {@code r2dbc.pool.*} metrics Spring Boot binds for pool beans, tagged {@code name=reactive-read}.
+ */
+@Repository
+public class OrderReactiveRepository implements DisposableBean {
+    private static final String POOL_NAME = "reactive-read";
+    private static final String FIND_ACTIVE_ORDER_SQL = """
+            SELECT o.order_id, o.customer_name, o.status, o.total_price, o.is_deleted, o.created_at, o.version,
+                   p.product_id, p.name, p.price, p.quantity
+            FROM orders o
+            LEFT JOIN products p ON p.order_id = o.order_id
+            WHERE o.order_id = $1 AND o.is_deleted = false
+            ORDER BY p.product_id
+            """;
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public OrderReactiveRepository(@Value("${orders.reactive-read.url}") String url,
+                                   @Value("${orders.reactive-read.username}") String username,
+                                   @Value("${orders.reactive-read.password}") String password,
+                                   @Value("${orders.reactive-read.max-pool-size}") int maxPoolSize,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size}") int jdbcPoolSize,
+                                   @Value("${orders.db-connections.max-total}") int maxTotalConnections,
+                                   MeterRegistry meterRegistry) {
+        if (jdbcPoolSize + maxPoolSize > maxTotalConnections) {
+            throw new IllegalArgumentException(("spring.datasource.hikari.maximum-pool-size (%d) and "
+                    + "orders.reactive-read.max-pool-size (%d) should add up to at most "
+                    + "orders.db-connections.max-total (%d)")
+                    .formatted(jdbcPoolSize, maxPoolSize, maxTotalConnections));
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        new ConnectionPoolMetrics(connectionPool, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Reads the order with its products in one query. Completes empty when there is no such order or it is deleted.
+     */
+    public Mono<OrderResponseDto> findActiveOrder(long orderId) {
+        return databaseClient.sql(FIND_ACTIVE_ORDER_SQL)
+                .bind(0, orderId)
+                .map(OrderReactiveRepository::readRow)
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(OrderReactiveRepository::toResponseDto);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static OrderRow readRow(Row row, RowMetadata metadata) {
+        OrderResponseDto order = OrderResponseDto.builder()
+                .orderId(row.get("order_id", Long.class))
+                .customerName(row.get("customer_name", String.class))
+                .status(OrderStatus.valueOf(row.get("status", String.class)))
+                .totalPrice(Objects.requireNonNull(row.get("total_price", BigDecimal.class)).doubleValue())
+                .isDeleted(row.get("is_deleted", Boolean.class))
+                .createdAt(Objects.requireNonNull(row.get("created_at", OffsetDateTime.class)).toInstant())
+                .version(row.get("version", Long.class))
+                .build();
+        Long productId = row.get("product_id", Long.class);
+        ProductResponseDto product = productId == null ? null : ProductResponseDto.builder()
+                .productId(productId)
+                .name(row.get("name", String.class))
+                .price(Objects.requireNonNull(row.get("price", BigDecimal.class)).doubleValue())
+                .quantity(row.get("quantity", Integer.class))
+                .build();
+        return new OrderRow(order, product);
+    }
+
+    private static OrderResponseDto toResponseDto(List<OrderRow> rows) {
+        return rows.get(0).order().toBuilder()
+                .products(rows.stream()
+                        .map(OrderRow::product)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .build();
+    }
+
+    private record OrderRow(OrderResponseDto order, ProductResponseDto product) {
+    }
+}
@@ -1,14 +1,35 @@
 package kz.orderservice.repository;
 
 import kz.orderservice.entity.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderRepositoryCustom {
     Optional<Order> findByOrderIdAndIsDeletedFalse(@Param("orderId") Long orderId);
+
+    /**
+     * Loads an active order to be changed. Changes to the order itself increment its version when the transaction
+     * commits, and the commit fails if another transaction changed the order in the meantime; a change to its
+     * products alone has to be versioned with {@link #incrementVersionIfDirty}.
+     */
+    Optional<Order> findForWriteByOrderIdAndIsDeletedFalse(@Param("orderId") Long orderId);
+
+    @EntityGraph(attributePaths = "products")
+    List<Order> findAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query(value = """
+            SELECT status AS status, version AS version FROM orders
+            WHERE order_id = :orderId AND customer_name = :customerName AND is_deleted = false
+            """, nativeQuery = true)
+    Optional<OrderState> findState(@Param("orderId") Long orderId, @Param("customerName") String customerName);
 }
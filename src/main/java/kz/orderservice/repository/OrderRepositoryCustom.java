@@ -0,0 +1,60 @@
+package kz.orderservice.repository;
+
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Returns the ids of at most {@code limit} orders matching the filter, ordered by {@code sortKey} and starting
+     * strictly after {@code after} (or from the beginning when it is {@code null}).
+     */
+    List<Long> findPageIds(OrderFilter filter, OrderSortKey sortKey, OrderCursor after, int limit);
+
+    /**
+     * Streams every order matching the filter in {@code orderId} order through a forward-only database cursor.
+     * Orders are handed to {@code chunkConsumer} in chunks of {@code chunkSize}; the persistence context is
+     * cleared after each chunk, so the consumer must not keep references to the entities.
+     * Has to be called inside a transaction.
+     */
+    void scrollAll(OrderFilter filter, int chunkSize, Consumer<List<Order>> chunkConsumer);
+
+    /**
+     * Computes count, revenue and average, minimum and maximum price of the orders matching the filter, grouped
+     * by status, in a single aggregate query. Statuses without matching orders are absent from the result.
+     */
+    List<OrderStatusStats> aggregateByStatus(OrderFilter filter);
+
+    /**
+     * Soft deletes the active orders among {@code orderIds} with a single UPDATE and returns the ids of the orders
+     * it changed. Has to be called inside a transaction.
+     */
+    List<Long> softDeleteAll(Collection<Long> orderIds);
+
+    /**
+     * Moves the active orders among {@code orderIds} whose status is one of {@code sourceStatuses} to
+     * {@code status} with a single UPDATE and returns the ids of the orders it changed.
+     * Has to be called inside a transaction.
+     */
+    List<Long> updateStatusAll(Collection<Long> orderIds, OrderStatus status, Collection<OrderStatus> sourceStatuses);
+
+    /**
+     * Moves the active order of the customer to {@code status} with a single conditional UPDATE, provided that its
+     * status is one of {@code sourceStatuses} and, unless {@code expectedVersion} is {@code null}, its version is
+     * {@code expectedVersion}. Returns the new version of the order, or {@code null} when no row was updated.
+     * Has to be called inside a transaction.
+     */
+    Long updateStatus(long orderId, String customerName, OrderStatus status, Collection<OrderStatus> sourceStatuses,
+                      Long expectedVersion);
+
+    /**
+     * Increments the version of a loaded order when the persistence context holds changes to flush. Meant for
+     * changes to the rows of its products only, which do not version the order by themselves; the increment is a
+     * single conditional UPDATE issued when the transaction commits. Has to be called inside a transaction.
+     */
+    void incrementVersionIfDirty(Order order);
+}
@@ -0,0 +1,188 @@
+package kz.orderservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> findPageIds(OrderFilter filter, OrderSortKey sortKey, OrderCursor after, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(root.get("orderId"));
+
+        Specification<Order> specification = filter.toSpecification();
+        if (after != null) {
+            specification = specification.and(after.toSpecification());
+        }
+        query.where(specification.toPredicate(root, query, criteriaBuilder));
+        query.orderBy(orderBy(sortKey, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void scrollAll(OrderFilter filter, int chunkSize, Consumer<List<Order>> chunkConsumer) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Order> query = criteriaBuilder.createQuery(Order.class);
+        Root<Order> root = query.from(Order.class);
+        query.where(filter.toSpecification().toPredicate(root, query, criteriaBuilder));
+        query.orderBy(orderBy(OrderSortKey.ORDER_ID, root, criteriaBuilder));
+
+        Query<Order> hibernateQuery = entityManager.createQuery(query).unwrap(Query.class);
+        try (ScrollableResults<Order> results = hibernateQuery
+                .setReadOnly(true)
+                .setFetchSize(chunkSize)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            List<Order> chunk = new ArrayList<>(chunkSize);
+            while (results.next()) {
+                chunk.add(results.get());
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, chunkConsumer);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(chunk, chunkConsumer);
+            }
+        }
+    }
+
+    @Override
+    public List<OrderStatusStats> aggregateByStatus(OrderFilter filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderStatusStats> query = criteriaBuilder.createQuery(OrderStatusStats.class);
+        Root<Order> root = query.from(Order.class);
+        Path<OrderStatus> status = root.get("status");
+        Path<BigDecimal> totalPrice = root.get("totalPrice");
+        query.select(criteriaBuilder.construct(OrderStatusStats.class,
+                status,
+                criteriaBuilder.count(root),
+                criteriaBuilder.sum(totalPrice),
+                criteriaBuilder.avg(totalPrice),
+                criteriaBuilder.min(totalPrice),
+                criteriaBuilder.max(totalPrice)));
+        query.where(filter.toSpecification().toPredicate(root, query, criteriaBuilder));
+        query.groupBy(status);
+        query.orderBy(criteriaBuilder.asc(status));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Long> softDeleteAll(Collection<Long> orderIds) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    UPDATE orders SET is_deleted = true, version = version + 1
+                    WHERE order_id = ANY (?) AND is_deleted = false
+                    RETURNING order_id
+                    """)) {
+                statement.setArray(1, connection.createArrayOf("bigint", orderIds.toArray()));
+                return readOrderIds(statement);
+            }
+        });
+    }
+
+    @Override
+    public List<Long> updateStatusAll(Collection<Long> orderIds, OrderStatus status,
+                                      Collection<OrderStatus> sourceStatuses) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    UPDATE orders SET status = ?, version = version + 1
+                    WHERE order_id = ANY (?) AND is_deleted = false AND status = ANY (?)
+                    RETURNING order_id
+                    """)) {
+                statement.setString(1, status.name());
+                statement.setArray(2, connection.createArrayOf("bigint", orderIds.toArray()));
+                statement.setArray(3, connection.createArrayOf("varchar",
+                        sourceStatuses.stream().map(OrderStatus::name).toArray()));
+                return readOrderIds(statement);
+            }
+        });
+    }
+
+    @Override
+    public Long updateStatus(long orderId, String customerName, OrderStatus status,
+                             Collection<OrderStatus> sourceStatuses, Long expectedVersion) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    UPDATE orders SET status = ?, version = version + 1
+                    WHERE order_id = ? AND customer_name = ? AND is_deleted = false AND status = ANY (?)
+                      AND (CAST(? AS BIGINT) IS NULL OR version = ?)
+                    RETURNING version
+                    """)) {
+                statement.setString(1, status.name());
+                statement.setLong(2, orderId);
+                statement.setString(3, customerName);
+                statement.setArray(4, connection.createArrayOf("varchar",
+                        sourceStatuses.stream().map(OrderStatus::name).toArray()));
+                statement.setObject(5, expectedVersion, Types.BIGINT);
+                statement.setObject(6, expectedVersion, Types.BIGINT);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? resultSet.getLong(1) : null;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void incrementVersionIfDirty(Order order) {
+        if (entityManager.unwrap(Session.class).isDirty()) {
+            entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+    }
+
+    private static List<Long> readOrderIds(PreparedStatement statement) throws SQLException {
+        List<Long> orderIds = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                orderIds.add(resultSet.getLong(1));
+            }
+        }
+        return orderIds;
+    }
+
+    private void flushChunk(List<Order> chunk, Consumer<List<Order>> chunkConsumer) {
+        chunkConsumer.accept(chunk);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private List<jakarta.persistence.criteria.Order> orderBy(OrderSortKey sortKey, Root<Order> root,
+                                                             CriteriaBuilder criteriaBuilder) {
+        return switch (sortKey) {
+            case ORDER_ID -> List.of(criteriaBuilder.asc(root.get("orderId")));
+            case TOTAL_PRICE -> List.of(
+                    criteriaBuilder.asc(root.get("totalPrice")),
+                    criteriaBuilder.asc(root.get("orderId")));
+        };
+    }
+}
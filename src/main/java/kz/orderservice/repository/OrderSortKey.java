@@ -0,0 +1,26 @@
+package kz.orderservice.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sort orders supported by keyset pagination. Every key is made unique by {@code orderId} as the last column,
+ * so a page boundary can always be expressed as "strictly after the last seen row".
+ */
+@Getter
+@AllArgsConstructor
+public enum OrderSortKey {
+    ORDER_ID("orderId"),
+    TOTAL_PRICE("totalPrice");
+
+    private final String textVal;
+
+    public static OrderSortKey fromString(String text) {
+        for (OrderSortKey sortKey : OrderSortKey.values()) {
+            if (sortKey.textVal.equalsIgnoreCase(text)) {
+                return sortKey;
+            }
+        }
+        throw new IllegalArgumentException("Could not find appropriate sort key for: " + text);
+    }
+}
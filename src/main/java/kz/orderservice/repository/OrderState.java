@@ -0,0 +1,11 @@
+package kz.orderservice.repository;
+
+/**
+ * Status and version of an order, read without loading the entity.
+ */
+public interface OrderState {
+
+    String getStatus();
+
+    Long getVersion();
+}
@@ -0,0 +1,12 @@
+package kz.orderservice.repository;
+
+import kz.orderservice.entity.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregates of the orders of one status, computed by the database.
+ */
+public record OrderStatusStats(OrderStatus status, Long orderCount, BigDecimal revenue, Double averagePrice,
+                               BigDecimal minPrice, BigDecimal maxPrice) {
+}
@@ -0,0 +1,223 @@
+package kz.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import kz.orderservice.exception.IdempotencyKeyConflictException;
+import kz.orderservice.repository.IdempotencyKeyRecord;
+import kz.orderservice.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes create requests idempotent per customer and {@code Idempotency-Key}. The first request with a key runs
+ * and its response is stored; later requests with the same key and body get the stored response back without
+ * running again. Completed keys are looked up in a bounded in-memory cache first and in the
+ * {@code idempotency_keys} table, which is shared by every node, second. Requests with a key that is still
+ * running on this node wait for it through an in-flight future until {@code orders.idempotency.wait-timeout}
+ * runs out; requests with a key that is still running on another node are told to retry right away. A pending
+ * key whose claim is older than {@code orders.idempotency.lease} was abandoned by a node that died and is taken
+ * over by the next request with it. The action and the completion of its key share one transaction, so a key is
+ * completed exactly when the orders of its action are committed: a request whose claim was taken over is rolled
+ * back instead of completing, and a takeover never runs an action whose orders were already committed. Keys are
+ * kept for {@code orders.idempotency.retention}.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Duration waitTimeout;
+    private final Duration lease;
+    private final Cache<String, IdempotencyKeyRecord> completedKeys;
+    private final ConcurrentMap<String, CompletableFuture<Void>> runningKeys = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${orders.idempotency.cache-maximum-size}") long cacheMaximumSize,
+                              @Value("${orders.idempotency.retention}") Duration retention,
+                              @Value("${orders.idempotency.wait-timeout}") Duration waitTimeout,
+                              @Value("${orders.idempotency.lease}") Duration lease) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.waitTimeout = waitTimeout;
+        this.lease = lease;
+        this.completedKeys = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per idempotency key of the current customer and returns its response, or the
+     * stored response of the first request with the key. Runs {@code action} directly when the key is
+     * {@code null}.
+     *
+     * @throws IdempotencyKeyConflictException if the key was used for another operation or body, if the first
+     *                                         request with the key is still running on another node or after the
+     *                                         wait timeout, or if the claim of this request expired and was taken
+     *                                         over before it completed
+     */
+    public <T> T execute(String idempotencyKey, String operation, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        String customerName = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .getUsername();
+        String keyHash = hash(idempotencyKey);
+        String requestHash = hash(operation + ":" + toJson(request));
+        String cacheKey = customerName + ":" + keyHash;
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            IdempotencyKeyRecord completedKey = completedKeys.getIfPresent(cacheKey);
+            if (completedKey != null) {
+                return replay(completedKey, requestHash, responseType, idempotencyKey);
+            }
+            CompletableFuture<Void> running = new CompletableFuture<>();
+            CompletableFuture<Void> runningElsewhere = runningKeys.putIfAbsent(cacheKey, running);
+            if (runningElsewhere != null) {
+                awaitRunningKey(runningElsewhere, deadline, idempotencyKey);
+                continue;
+            }
+            try {
+                return runOrReplay(customerName, keyHash, requestHash, cacheKey, idempotencyKey, responseType,
+                        action);
+            } finally {
+                runningKeys.remove(cacheKey, running);
+                running.complete(null);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval}")
+    public void purgeExpiredKeys() {
+        int deletedKeys = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        log.info("Purged {} expired idempotency keys", deletedKeys);
+    }
+
+    private <T> T runOrReplay(String customerName, String keyHash, String requestHash, String cacheKey,
+                              String idempotencyKey, Class<T> responseType, Supplier<T> action) {
+        while (true) {
+            UUID claimToken = UUID.randomUUID();
+            if (idempotencyKeyRepository.claim(customerName, keyHash, requestHash, claimToken, lease)) {
+                return runAndStore(customerName, keyHash, requestHash, cacheKey, claimToken, idempotencyKey, action);
+            }
+            Optional<IdempotencyKeyRecord> storedKey = idempotencyKeyRepository.find(customerName, keyHash);
+            if (storedKey.isEmpty()) {
+                // released or purged since the claim failed, so it can be claimed again
+                continue;
+            }
+            if (storedKey.get().isCompleted()) {
+                completedKeys.put(cacheKey, storedKey.get());
+                return replay(storedKey.get(), requestHash, responseType, idempotencyKey);
+            }
+            if (!storedKey.get().requestHash().equals(requestHash)) {
+                throw new IdempotencyKeyConflictException(
+                        "Idempotency key: " + idempotencyKey + " was already used for another request");
+            }
+            throw new IdempotencyKeyConflictException(
+                    "Request with idempotency key: " + idempotencyKey + " is still in progress, retry later");
+        }
+    }
+
+    private <T> T runAndStore(String customerName, String keyHash, String requestHash, String cacheKey,
+                              UUID claimToken, String idempotencyKey, Supplier<T> action) {
+        CompletedAction<T> completedAction;
+        try {
+            completedAction = transactionTemplate.execute(status -> {
+                T response = action.get();
+                IdempotencyKeyRecord completedKey = new IdempotencyKeyRecord(requestHash, toJson(response));
+                if (!idempotencyKeyRepository.complete(customerName, keyHash, claimToken,
+                        completedKey.responseBody())) {
+                    throw new IdempotencyKeyConflictException("Claim of idempotency key: " + idempotencyKey
+                            + " expired and was taken over by another request, retry later");
+                }
+                return new CompletedAction<>(response, completedKey);
+            });
+        } catch (RuntimeException exception) {
+            idempotencyKeyRepository.release(customerName, keyHash, claimToken);
+            throw exception;
+        }
+        completedKeys.put(cacheKey, completedAction.completedKey());
+        return completedAction.response();
+    }
+
+    private <T> T replay(IdempotencyKeyRecord completedKey, String requestHash, Class<T> responseType,
+                         String idempotencyKey) {
+        if (!completedKey.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(
+                    "Idempotency key: " + idempotencyKey + " was already used for another request");
+        }
+        log.info("Replayed response of idempotency key: {}", idempotencyKey);
+        try {
+            return objectMapper.readValue(completedKey.responseBody(), responseType);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not read stored response of idempotency key: " + idempotencyKey,
+                    exception);
+        }
+    }
+
+    private static void awaitRunningKey(CompletableFuture<Void> running, long deadline, String idempotencyKey) {
+        try {
+            running.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            throw new IdempotencyKeyConflictException(
+                    "Request with idempotency key: " + idempotencyKey + " is still in progress");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException(
+                    "Interrupted while waiting for request with idempotency key: " + idempotencyKey);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), exception);
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private record CompletedAction<T>(T response, IdempotencyKeyRecord completedKey) {
+    }
+}
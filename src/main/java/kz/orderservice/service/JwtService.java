@@ -1,12 +1,17 @@
 package kz.orderservice.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kz.orderservice.entity.user.Role;
+import kz.orderservice.entity.user.User;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -17,16 +22,58 @@ import java.util.Map;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
-    @Value("${jwt.access-token-lifetime}")
-    private static final Long accessTokenLifetime = 86400000L;
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final long accessTokenLifetime;
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final Timer parseTimer;
+    private final Timer generateTimer;
+
+    public JwtService(@Value("${jwt.secret-key}") String secretKey,
+                      @Value("${jwt.access-token-lifetime}") long accessTokenLifetime,
+                      TokenVersionRegistry tokenVersionRegistry,
+                      MeterRegistry meterRegistry) {
+        this.accessTokenLifetime = accessTokenLifetime;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("Time spent verifying and parsing tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.generateTimer = Timer.builder("jwt.generate")
+                .description("Time spent issuing tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifies the signature and expiration of the token and returns its claims. This is the only place a token
+     * is parsed, so callers should parse once per request and work with the returned {@link VerifiedToken}.
+     * Every call, including one that rejects the token, is recorded in the {@code jwt.parse} timer; tokens served
+     * by {@link VerifiedTokenCache} are not.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, has an invalid signature or is expired
+     */
+    public VerifiedToken parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(ROLE_CLAIM, String.class),
+                claims.get(TOKEN_VERSION_CLAIM, Integer.class),
+                claims.getExpiration()
+        );
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).username();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -34,44 +81,60 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Issues a token that carries the role and the token version of the user next to the subject, so that
+     * {@link #extractUserDetails(VerifiedToken)} can authenticate requests without loading the user.
+     */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        userDetails.getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .ifPresent(role -> claims.put(ROLE_CLAIM, role));
+        claims.put(TOKEN_VERSION_CLAIM, userDetails instanceof User user
+                ? user.getTokenVersion()
+                : tokenVersionRegistry.currentVersion(userDetails.getUsername()));
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder()
+        return generateTimer.record(() -> Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenLifetime))
-                .signWith(getSignedKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact());
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.username().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Builds the principal from the claims of the token alone. Returns {@code null} when the token has no role
+     * or version claims (tokens issued before they were added) or when its version is older than the current
+     * token version of the user, e.g. because the role of the user has changed since the token was issued.
+     */
+    public UserDetails extractUserDetails(VerifiedToken token) {
+        if (token.username() == null || token.role() == null || token.tokenVersion() == null
+                || !tokenVersionRegistry.isCurrent(token.username(), token.tokenVersion())) {
+            return null;
+        }
+        return User.builder()
+                .username(token.username())
+                .role(Role.valueOf(token.role()))
+                .tokenVersion(token.tokenVersion())
+                .build();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignedKey())
-                .build()
+        return parseTimer.record(() -> jwtParser
                 .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignedKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+                .getBody());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package kz.orderservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs writes that have no client-supplied version, retrying them when they lose an optimistic locking race.
+ * Every attempt has to run in its own transaction and re-read the entities it changes. Conflicts and retries are
+ * counted per operation in the {@code orders.write.conflicts} and {@code orders.write.retries} metrics.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryExecutor {
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public OptimisticRetryExecutor(MeterRegistry meterRegistry,
+                                   @Value("${orders.write.max-attempts}") int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("orders.write.max-attempts should be at least 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(String operation, Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException exception) {
+                meterRegistry.counter("orders.write.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    throw exception;
+                }
+                meterRegistry.counter("orders.write.retries", "operation", operation).increment();
+                log.debug("Retrying {} after attempt {} lost an optimistic locking race", operation, attempt);
+            }
+        }
+    }
+}
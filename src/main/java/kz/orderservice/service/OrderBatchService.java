@@ -0,0 +1,179 @@
+package kz.orderservice.service;
+
+import jakarta.validation.Validator;
+import kz.orderservice.converter.OrderConverter;
+import kz.orderservice.dto.order.OrderBatchItemResultDto;
+import kz.orderservice.dto.order.OrderBatchItemStatus;
+import kz.orderservice.dto.order.OrderBatchResponseDto;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderBatchService {
+
+    @Value("${orders.batch.chunk-size}")
+    private int chunkSize;
+    @Value("${orders.batch.max-size}")
+    private int maxSize;
+
+    private final OrderRepository orderRepository;
+    private final OrderConverter orderConverter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final PricingEngine pricingEngine;
+
+    /**
+     * Creates every valid order of the list for the current user. Valid orders are saved in chunks of
+     * {@code orders.batch.chunk-size}, one transaction per chunk, so their rows go to the database in JDBC
+     * batches. When a chunk fails, its orders are saved again one by one, so only the orders that cannot be
+     * saved are reported as failed. Results are returned in the order of the request. Called inside a transaction,
+     * as for a request with an idempotency key, the chunks join that transaction and a chunk that fails fails the
+     * whole batch, because the rolled back transaction cannot save its orders again.
+     */
+    public OrderBatchResponseDto createOrders(List<OrderRequestDto> orderRequestDtos) {
+        String username = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .getUsername();
+        if (orderRequestDtos.size() > maxSize) {
+            throw new BadRequestException("Batch should not contain more than %d orders".formatted(maxSize));
+        }
+        boolean enclosingTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        OrderBatchItemResultDto[] results = new OrderBatchItemResultDto[orderRequestDtos.size()];
+        List<PendingOrder> chunk = new ArrayList<>(chunkSize);
+        for (int index = 0; index < orderRequestDtos.size(); index++) {
+            OrderRequestDto orderRequestDto = orderRequestDtos.get(index);
+            String error = validate(orderRequestDto);
+            if (error != null) {
+                results[index] = failed(index, error);
+                continue;
+            }
+            chunk.add(new PendingOrder(index, orderRequestDto));
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, username, enclosingTransaction, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, username, enclosingTransaction, results);
+        }
+
+        List<OrderBatchItemResultDto> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream()
+                .filter(result -> result.getStatus() == OrderBatchItemStatus.CREATED)
+                .count();
+        log.info("Batch of {} orders processed: {} created, {} failed",
+                results.length, created, results.length - created);
+        return OrderBatchResponseDto.builder()
+                .created(created)
+                .failed(results.length - created)
+                .results(resultList)
+                .build();
+    }
+
+    private void saveChunk(List<PendingOrder> chunk, String username, boolean enclosingTransaction,
+                           OrderBatchItemResultDto[] results) {
+        try {
+            List<OrderResponseDto> savedOrders = transactionTemplate.execute(status -> saveOrders(chunk, username));
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i).index()] = created(chunk.get(i).index(), savedOrders.get(i));
+            }
+        } catch (DataAccessException | TransactionException exception) {
+            if (enclosingTransaction) {
+                throw exception;
+            }
+            log.warn("Could not save chunk of {} orders, saving them one by one: {}",
+                    chunk.size(), exception.getMessage());
+            chunk.forEach(pendingOrder -> results[pendingOrder.index()] = saveOne(pendingOrder, username));
+        }
+    }
+
+    private OrderBatchItemResultDto saveOne(PendingOrder pendingOrder, String username) {
+        try {
+            List<OrderResponseDto> savedOrders = transactionTemplate.execute(
+                    status -> saveOrders(List.of(pendingOrder), username));
+            return created(pendingOrder.index(), savedOrders.get(0));
+        } catch (DataAccessException | TransactionException exception) {
+            return failed(pendingOrder.index(), "Could not save order: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Entities are built inside the transaction, so a retry after a failed chunk never reuses entities that
+     * already got ids assigned by the rolled back attempt.
+     */
+    private List<OrderResponseDto> saveOrders(List<PendingOrder> pendingOrders, String username) {
+        List<Order> orders = pendingOrders.stream()
+                .map(pendingOrder -> toEntity(pendingOrder.orderRequestDto(), username))
+                .toList();
+        return orderRepository.saveAll(orders).stream()
+                .map(orderConverter::entityToResponseDto)
+                .toList();
+    }
+
+    private Order toEntity(OrderRequestDto orderRequestDto, String username) {
+        Order order = orderConverter.requestDtoToEntity(orderRequestDto);
+        order.setIsDeleted(false);
+        order.setCustomerName(username);
+        order.setTotalPrice(pricingEngine.calculateTotalPrice(order.getProducts()));
+        return order;
+    }
+
+    private String validate(OrderRequestDto orderRequestDto) {
+        if (orderRequestDto == null) {
+            return "Order cannot be null";
+        }
+        String violations = validator.validate(orderRequestDto).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        try {
+            OrderStatus.fromString(orderRequestDto.getOrderStatus());
+        } catch (IllegalArgumentException exception) {
+            return exception.getMessage();
+        }
+        return null;
+    }
+
+    private static OrderBatchItemResultDto created(int index, OrderResponseDto orderResponseDto) {
+        return OrderBatchItemResultDto.builder()
+                .index(index)
+                .status(OrderBatchItemStatus.CREATED)
+                .order(orderResponseDto)
+                .build();
+    }
+
+    private static OrderBatchItemResultDto failed(int index, String error) {
+        return OrderBatchItemResultDto.builder()
+                .index(index)
+                .status(OrderBatchItemStatus.FAILED)
+                .error(error)
+                .build();
+    }
+
+    private record PendingOrder(int index, OrderRequestDto orderRequestDto) {
+    }
+}
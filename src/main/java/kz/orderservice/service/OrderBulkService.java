@@ -0,0 +1,113 @@
+package kz.orderservice.service;
+
+import kz.orderservice.dto.order.OrderBulkOperation;
+import kz.orderservice.dto.order.OrderBulkRequestDto;
+import kz.orderservice.dto.order.OrderBulkResponseDto;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.repository.OrderCursor;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.repository.OrderRepository;
+import kz.orderservice.repository.OrderSortKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderBulkService {
+
+    @Value("${orders.bulk.chunk-size}")
+    private int chunkSize;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    /**
+     * Soft deletes or changes the status of the orders selected either by id or by the filters. The orders are
+     * changed in chunks of {@code orders.bulk.chunk-size} with one set-based UPDATE per chunk, each chunk in its
+     * own transaction. Status changes follow the same transitions as single orders. The cached copies of every
+     * changed order are evicted in one go, also when a later chunk fails.
+     */
+    public OrderBulkResponseDto applyBulkOperation(OrderBulkRequestDto bulkRequestDto) {
+        OrderBulkOperation operation = bulkRequestDto.getOperation();
+        OrderStatus status = operation == OrderBulkOperation.CHANGE_STATUS
+                ? OrderStatus.fromString(bulkRequestDto.getOrderStatus())
+                : null;
+        List<Long> orderIds = Objects.requireNonNullElse(bulkRequestDto.getOrderIds(), List.of());
+        boolean filtered = bulkRequestDto.getStatus() != null || bulkRequestDto.getMinPrice() != null
+                || bulkRequestDto.getMaxPrice() != null;
+        if (orderIds.isEmpty() && !filtered || !orderIds.isEmpty() && filtered) {
+            throw new BadRequestException("Bulk operation should select orders either by ids or by filters");
+        }
+
+        List<Long> affectedOrderIds = new ArrayList<>();
+        try {
+            if (filtered) {
+                applyToFilteredOrders(OrderFilter.of(bulkRequestDto.getStatus(), bulkRequestDto.getMinPrice(),
+                        bulkRequestDto.getMaxPrice()), operation, status, affectedOrderIds);
+            } else {
+                List<Long> distinctOrderIds = orderIds.stream().distinct().toList();
+                for (int from = 0; from < distinctOrderIds.size(); from += chunkSize) {
+                    List<Long> chunk = distinctOrderIds.subList(from,
+                            Math.min(from + chunkSize, distinctOrderIds.size()));
+                    affectedOrderIds.addAll(applyToChunk(chunk, operation, status));
+                }
+            }
+        } finally {
+            evictOrders(affectedOrderIds);
+        }
+
+        log.info("Bulk operation {} changed {} orders", operation, affectedOrderIds.size());
+        return OrderBulkResponseDto.builder()
+                .affectedRows(affectedOrderIds.size())
+                .build();
+    }
+
+    private void applyToFilteredOrders(OrderFilter filter, OrderBulkOperation operation, OrderStatus status,
+                                       List<Long> affectedOrderIds) {
+        OrderCursor after = null;
+        while (true) {
+            List<Long> chunk = orderRepository.findPageIds(filter, OrderSortKey.ORDER_ID, after, chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            affectedOrderIds.addAll(applyToChunk(chunk, operation, status));
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            after = new OrderCursor(OrderSortKey.ORDER_ID, null, chunk.get(chunk.size() - 1));
+        }
+    }
+
+    private List<Long> applyToChunk(List<Long> chunk, OrderBulkOperation operation, OrderStatus status) {
+        List<Long> changedOrderIds = transactionTemplate.execute(transactionStatus -> switch (operation) {
+            case SOFT_DELETE -> orderRepository.softDeleteAll(chunk);
+            case CHANGE_STATUS -> orderRepository.updateStatusAll(chunk, status, status.getSourceStatuses());
+        });
+        return changedOrderIds != null ? changedOrderIds : List.of();
+    }
+
+    private void evictOrders(List<Long> orderIds) {
+        Cache cache = cacheManager.getCache("orders");
+        if (cache == null || orderIds.isEmpty()) {
+            return;
+        }
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().invalidateAll(orderIds);
+        } else {
+            orderIds.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package kz.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.converter.OrderConverter;
+import kz.orderservice.entity.Order;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    @Value("${orders.export.chunk-size}")
+    private int chunkSize;
+
+    private final OrderRepository orderRepository;
+    private final OrderConverter orderConverter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every order matching the filter to {@code outputStream} as newline-delimited JSON, one
+     * {@link kz.orderservice.dto.order.OrderResponseDto} per line. Only one chunk of orders is held in memory
+     * at a time.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderFilter filter, OutputStream outputStream) throws IOException {
+        long[] exported = {0};
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            orderRepository.scrollAll(filter, chunkSize, chunk -> {
+                writeChunk(generator, chunk);
+                exported[0] += chunk.size();
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        log.info("Exported {} orders", exported[0]);
+    }
+
+    private void writeChunk(JsonGenerator generator, List<Order> chunk) {
+        try {
+            for (Order order : chunk) {
+                generator.writeObject(orderConverter.entityToResponseDto(order));
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package kz.orderservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.repository.OrderReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Mono;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderReactiveLookupService {
+    static final String LOOKUP_METRIC = "orders.reactive.lookup";
+
+    private final OrderReactiveRepository orderReactiveRepository;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Serves the order from the "orders" cache or reads it over R2DBC and caches it, then checks that it belongs to
+     * the requester. A read only fills an empty entry: a write that commits while the read is in flight puts its
+     * newer order into the cache, and the older row must not replace it. The requester is taken from the security
+     * context when the method is called, so it has to be called on the request thread. The whole lookup, cache hits
+     * included, is timed as {@code orders.reactive.lookup.flow.duration}, tagged with how it ended.
+     */
+    public Mono<OrderResponseDto> getOrderById(long orderId) {
+        String username = OrderService.getCurrentUsername();
+        Cache cache = cacheManager.getCache(OrderService.ORDERS_CACHE);
+        return Mono.justOrEmpty(cache.get(orderId, OrderResponseDto.class))
+                .switchIfEmpty(Mono.defer(() -> orderReactiveRepository.findActiveOrder(orderId)
+                        .doOnNext(order -> cache.putIfAbsent(orderId, order))))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Could not find order by id: " + orderId)))
+                .doOnNext(order -> OrderService.validateAccessToOrder(order.getCustomerName(), username, orderId))
+                .doOnNext(order -> log.info("Got order by id: {}", orderId))
+                .name(LOOKUP_METRIC)
+                .tap(Micrometer.metrics(meterRegistry));
+    }
+}
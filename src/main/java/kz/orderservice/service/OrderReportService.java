@@ -0,0 +1,113 @@
+package kz.orderservice.service;
+
+import kz.orderservice.dto.report.DailyRevenueDto;
+import kz.orderservice.dto.report.DailyRevenueRebuildResponseDto;
+import kz.orderservice.dto.report.DailyRevenueReportDto;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.repository.OrderDailyRevenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderReportService {
+
+    @Value("${orders.rollup.rebuild-chunk-days}")
+    private int rebuildChunkDays;
+    @Value("${orders.rollup.fold-batch-size}")
+    private int foldBatchSize;
+
+    private final OrderDailyRevenueRepository orderDailyRevenueRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Reads the daily revenue of the given range from the rollup table and its pending deltas only, so the cost
+     * depends on the number of days in the range and not on the number of orders.
+     */
+    @Transactional(readOnly = true)
+    public DailyRevenueReportDto getDailyRevenue(LocalDate from, LocalDate to, String status) {
+        validateRange(from, to);
+        List<DailyRevenueDto> days = orderDailyRevenueRepository
+                .findDays(from, to, status != null ? OrderStatus.fromString(status).name() : null).stream()
+                .map(dailyRevenue -> DailyRevenueDto.builder()
+                        .day(dailyRevenue.getDay())
+                        .status(OrderStatus.valueOf(dailyRevenue.getStatus()))
+                        .orderCount(dailyRevenue.getOrderCount())
+                        .revenue(dailyRevenue.getRevenue())
+                        .build())
+                .toList();
+        return DailyRevenueReportDto.builder()
+                .orderCount(days.stream().mapToLong(DailyRevenueDto::getOrderCount).sum())
+                .revenue(days.stream().mapToDouble(DailyRevenueDto::getRevenue).sum())
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Folds the deltas written by the {@code orders_maintain_daily_revenue} trigger into the rollup rows,
+     * {@code orders.rollup.fold-batch-size} deltas per transaction. Order writes only ever insert deltas, so they
+     * never wait for each other on a rollup row; this job is the only writer of the rollup besides the rebuild,
+     * which it waits for.
+     */
+    @Scheduled(fixedDelayString = "${orders.rollup.fold-interval}")
+    public void foldRevenueDeltas() {
+        int rows = 0;
+        Integer foldedRows;
+        do {
+            foldedRows = transactionTemplate.execute(status -> {
+                orderDailyRevenueRepository.lockRollupForFold();
+                return orderDailyRevenueRepository.foldDeltas(foldBatchSize);
+            });
+            rows += foldedRows != null ? foldedRows : 0;
+        } while (foldedRows != null && foldedRows > 0);
+        log.debug("Folded revenue deltas into {} rollup rows", rows);
+    }
+
+    /**
+     * Recomputes the rollup rows of the given range from the orders table, {@code orders.rollup.rebuild-chunk-days}
+     * days per transaction, and drops the pending deltas of the range. Folds wait while a chunk is rebuilt; order
+     * writes do not, and the deltas of those the rebuild does not see are folded on top of it afterwards.
+     */
+    public DailyRevenueRebuildResponseDto rebuildDailyRevenue(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        int rows = 0;
+        for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(rebuildChunkDays)) {
+            LocalDate chunkEnd = chunkStart.plusDays(rebuildChunkDays - 1L);
+            rows += rebuildChunk(chunkStart, chunkEnd.isAfter(to) ? to : chunkEnd);
+        }
+        log.info("Rebuilt daily revenue from {} to {}: {} rows", from, to, rows);
+        return DailyRevenueRebuildResponseDto.builder()
+                .from(from)
+                .to(to)
+                .rows(rows)
+                .build();
+    }
+
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        Instant fromInstant = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant toInstant = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Integer rows = transactionTemplate.execute(status -> {
+            orderDailyRevenueRepository.lockRollupForRebuild();
+            return orderDailyRevenueRepository.rebuildDays(from, to, fromInstant, toInstant);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Start of the range %s is after its end %s".formatted(from, to));
+        }
+    }
+}
@@ -1,98 +1,208 @@
 package kz.orderservice.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.criteria.Predicate;
 import kz.orderservice.converter.OrderConverter;
 import kz.orderservice.converter.ProductConverter;
+import kz.orderservice.dto.order.OrderPageResponseDto;
+import kz.orderservice.dto.order.OrderProductsPatchRequestDto;
 import kz.orderservice.dto.order.OrderRequestDto;
 import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.order.OrderStatsResponseDto;
+import kz.orderservice.dto.order.OrderStatusResponseDto;
+import kz.orderservice.dto.order.OrderStatusStatsDto;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
+import kz.orderservice.dto.product.ProductRequestDto;
 import kz.orderservice.entity.Order;
 import kz.orderservice.entity.OrderStatus;
 import kz.orderservice.entity.Product;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.exception.OrderStatusConflictException;
+import kz.orderservice.exception.OrderVersionMismatchException;
+import kz.orderservice.repository.OrderCursor;
+import kz.orderservice.repository.OrderFilter;
 import kz.orderservice.repository.OrderRepository;
+import kz.orderservice.repository.OrderSortKey;
+import kz.orderservice.repository.OrderState;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "orders.service", histogram = true)
 @Slf4j
 @RequiredArgsConstructor
 public class OrderService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    static final String ORDERS_CACHE = "orders";
+
     private final OrderRepository orderRepository;
     private final OrderConverter orderConverter;
     private final ProductConverter productConverter;
+    private final PricingEngine pricingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
 
+    @CachePut(value = "orders", key = "#result.orderId")
     public OrderResponseDto createOrder(OrderRequestDto orderRequestDto) {
         Order order = orderConverter.requestDtoToEntity(orderRequestDto);
 
         order.setIsDeleted(false);
-        String username = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
-                .getUsername();
-        order.setCustomerName(username);
-        order.setTotalPrice(calculateTotalPrice(order.getProducts()));
+        order.setCustomerName(getCurrentUsername());
+        order.setTotalPrice(pricingEngine.calculateTotalPrice(order.getProducts()));
 
         Order savedOrder = orderRepository.save(order);
         log.info("Order created with ID: {}", order.getOrderId());
         return orderConverter.entityToResponseDto(savedOrder);
     }
 
-    @CacheEvict(value = "orders", key = "#orderId")
-    public OrderResponseDto updateOrder(long orderId, OrderRequestDto orderRequestDto) {
-        Order order = orderRepository.findByOrderIdAndIsDeletedFalse(orderId)
-                .orElseThrow(() -> new EntityNotFoundException("Could not find order by supplied id: " + orderId));
-        validateAccessToOrder(order);
-
-        order.setStatus(OrderStatus.fromString(orderRequestDto.getOrderStatus()));
-        List<Product> products = order.getProducts();
-        products.clear();
-        orderRequestDto.getProducts().stream()
-                .map(productConverter::requestDtoToEntity)
-                .forEach(products::add);
-        order.setTotalPrice(calculateTotalPrice(order.getProducts()));
-
-        Order updatedOrder = orderRepository.save(order);
+    /**
+     * Replaces the products of the order by applying the request as a diff: products listed with their productId
+     * are updated in place, products of the order missing from the request are deleted and products without a
+     * productId are inserted. Products whose fields do not change are not written at all.
+     */
+    @CachePut(value = "orders", key = "#orderId")
+    public OrderResponseDto updateOrder(long orderId, OrderRequestDto orderRequestDto, Long expectedVersion) {
+        Order updatedOrder = writeOrder(orderId, expectedVersion, "updateOrder", order -> {
+            order.setStatus(OrderStatus.fromString(orderRequestDto.getOrderStatus()));
+            Set<Long> keptProductIds = orderRequestDto.getProducts().stream()
+                    .map(ProductRequestDto::getProductId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            order.getProducts().removeIf(product -> !keptProductIds.contains(product.getProductId()));
+            upsertProducts(order, orderRequestDto.getProducts());
+            order.setTotalPrice(pricingEngine.calculateTotalPrice(order.getProducts()));
+        });
         log.info("Order updated with ID: {}", orderId);
         return orderConverter.entityToResponseDto(updatedOrder);
     }
 
-    public List<OrderResponseDto> getOrdersWithFilters(String status, Double minPrice, Double maxPrice) {
-        List<Order> appropriateOrders = orderRepository.findAll((root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            if (status != null) {
-                predicates.add(criteriaBuilder.equal(root.get("status"), OrderStatus.fromString(status)));
+    /**
+     * Changes only the listed products of the order: removes the products with the given ids, updates in place
+     * the products carrying a productId and inserts the others. The rest of the order is left as it is.
+     */
+    @CachePut(value = "orders", key = "#orderId")
+    public OrderResponseDto patchOrderProducts(long orderId, OrderProductsPatchRequestDto patchRequestDto,
+                                               Long expectedVersion) {
+        Order updatedOrder = writeOrder(orderId, expectedVersion, "patchOrderProducts", order -> {
+            Set<Long> removedProductIds = new HashSet<>(
+                    Objects.requireNonNullElse(patchRequestDto.getRemovedProductIds(), List.of()));
+            Set<Long> productIds = order.getProducts().stream()
+                    .map(Product::getProductId)
+                    .collect(Collectors.toSet());
+            removedProductIds.stream()
+                    .filter(productId -> !productIds.contains(productId))
+                    .findFirst()
+                    .ifPresent(productId -> {
+                        throw new IllegalArgumentException(
+                                "Could not find product with id: " + productId + " in order with id: " + orderId);
+                    });
+            order.getProducts().removeIf(product -> removedProductIds.contains(product.getProductId()));
+            upsertProducts(order, Objects.requireNonNullElse(patchRequestDto.getProducts(), List.of()));
+            if (order.getProducts().isEmpty()) {
+                throw new BadRequestException("Order with id: " + orderId + " should keep at least one product");
             }
+            order.setTotalPrice(pricingEngine.calculateTotalPrice(order.getProducts()));
+        });
+        log.info("Products of order patched with ID: {}", orderId);
+        return orderConverter.entityToResponseDto(updatedOrder);
+    }
+
+    /**
+     * Moves the order to the requested status with a single conditional UPDATE, without loading the order or its
+     * products. The allowed transitions and the expected version, when given, are part of the WHERE clause, so
+     * when no row is updated the status and version of the order are read to tell a missing order from a stale
+     * version or a forbidden transition. A cached copy of the order gets the new status and version once the
+     * update is committed, or is evicted when it was already stale.
+     */
+    public OrderStatusResponseDto updateOrderStatus(long orderId, OrderStatusUpdateRequestDto statusRequestDto,
+                                                    Long expectedVersion) {
+        OrderStatus status = OrderStatus.fromString(statusRequestDto.getOrderStatus());
+        String username = getCurrentUsername();
 
-            if (minPrice != null) {
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("totalPrice"), minPrice));
+        Long version = status.getSourceStatuses().isEmpty() ? null : transactionTemplate.execute(
+                transactionStatus -> orderRepository.updateStatus(orderId, username, status,
+                        status.getSourceStatuses(), expectedVersion));
+        if (version == null) {
+            OrderState state = orderRepository.findState(orderId, username)
+                    .orElseThrow(() -> new EntityNotFoundException("Could not find order by supplied id: " + orderId));
+            if (expectedVersion != null && !expectedVersion.equals(state.getVersion())) {
+                throw new OrderVersionMismatchException("Order with id: " + orderId + " has version: "
+                        + state.getVersion() + " instead of: " + expectedVersion);
             }
+            throw new OrderStatusConflictException("Could not change status of order with id: " + orderId
+                    + " from " + state.getStatus() + " to " + status.name());
+        }
 
-            if (maxPrice != null) {
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("totalPrice"), maxPrice));
+        Cache cache = cacheManager.getCache(ORDERS_CACHE);
+        OrderResponseDto cachedOrder = cache != null ? cache.get(orderId, OrderResponseDto.class) : null;
+        if (cachedOrder != null) {
+            if (Objects.equals(cachedOrder.getVersion(), version - 1)) {
+                cache.put(orderId, cachedOrder.toBuilder().status(status).version(version).build());
+            } else {
+                cache.evict(orderId);
             }
-            predicates.add(criteriaBuilder.isFalse(root.get("isDeleted")));
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        });
+        }
+        log.info("Order status changed to {} with ID: {}", status, orderId);
+        return OrderStatusResponseDto.builder()
+                .orderId(orderId)
+                .status(status)
+                .version(version)
+                .build();
+    }
 
-        return appropriateOrders.stream()
-                .map(orderConverter::entityToResponseDto)
-                .toList();
+    public OrderPageResponseDto getOrdersWithFilters(String status, Double minPrice, Double maxPrice,
+                                                     String sortBy, String cursor, Integer size) {
+        OrderFilter filter = OrderFilter.of(status, minPrice, maxPrice);
+        OrderCursor after = cursor != null ? OrderCursor.decode(cursor) : null;
+        OrderSortKey sortKey = resolveSortKey(sortBy, after);
+        int pageSize = resolvePageSize(size);
+
+        List<Long> appropriateOrderIds = orderRepository.findPageIds(filter, sortKey, after, pageSize + 1);
+        boolean hasNextPage = appropriateOrderIds.size() > pageSize;
+        List<Order> page = findOrdersWithProducts(
+                hasNextPage ? appropriateOrderIds.subList(0, pageSize) : appropriateOrderIds);
+
+        return OrderPageResponseDto.builder()
+                .orders(page.stream()
+                        .map(orderConverter::entityToResponseDto)
+                        .toList())
+                .nextCursor(hasNextPage ? OrderCursor.after(sortKey, page.get(page.size() - 1)).encode() : null)
+                .build();
     }
 
-    @Cacheable(value = "orders", key = "#orderId")
-    public OrderResponseDto getOrderById(long orderId) {
-        Order order = orderRepository.findByOrderIdAndIsDeletedFalse(orderId)
-                .orElseThrow(() -> new EntityNotFoundException("Could not find order by id: " + orderId));
-        validateAccessToOrder(order);
-        log.info("Got order by id:" + orderId);
-        return orderConverter.entityToResponseDto(order);
+    public OrderStatsResponseDto getOrderStats(String status, Double minPrice, Double maxPrice) {
+        List<OrderStatusStatsDto> statuses = orderRepository
+                .aggregateByStatus(OrderFilter.of(status, minPrice, maxPrice)).stream()
+                .map(orderConverter::statsToDto)
+                .toList();
+        return OrderStatsResponseDto.builder()
+                .orderCount(statuses.stream().mapToLong(OrderStatusStatsDto::getOrderCount).sum())
+                .revenue(statuses.stream().mapToDouble(OrderStatusStatsDto::getRevenue).sum())
+                .statuses(statuses)
+                .build();
     }
 
     @CacheEvict(value = "orders", key = "#orderId")
@@ -104,17 +214,118 @@ public class OrderService {
         log.info("Order soft-deleted with ID: {}", orderId);
     }
 
-    private double calculateTotalPrice(List<Product> products) {
-        return products.stream()
-                .mapToDouble(product -> product.getPrice() * product.getQuantity())
-                .sum();
+    /**
+     * Loads the order in a new transaction, applies the changes and commits them. With an expected version the
+     * write fails when the order has another version, either when it is loaded or because it changed before the
+     * commit. Without one, a write that loses an optimistic locking race is retried on a fresh copy of the order.
+     */
+    private Order writeOrder(long orderId, Long expectedVersion, String operation, Consumer<Order> changes) {
+        Supplier<Order> write = () -> transactionTemplate.execute(transactionStatus -> {
+            Order order = orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)
+                    .orElseThrow(() -> new EntityNotFoundException("Could not find order by supplied id: " + orderId));
+            validateAccessToOrder(order.getCustomerName(), orderId);
+            if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+                throw new OrderVersionMismatchException("Order with id: " + orderId + " has version: "
+                        + order.getVersion() + " instead of: " + expectedVersion);
+            }
+            OrderStatus status = order.getStatus();
+            BigDecimal totalPrice = order.getTotalPrice();
+            List<Product> products = List.copyOf(order.getProducts());
+            changes.accept(order);
+            if (status == order.getStatus() && Objects.equals(totalPrice, order.getTotalPrice())
+                    && sameProducts(products, order.getProducts())) {
+                // only rows of products changed, if anything, and they do not version the order by themselves
+                orderRepository.incrementVersionIfDirty(order);
+            }
+            return orderRepository.save(order);
+        });
+        if (expectedVersion == null) {
+            return optimisticRetryExecutor.execute(operation, write);
+        }
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException exception) {
+            throw new OrderVersionMismatchException("Order with id: " + orderId + " was changed concurrently");
+        }
     }
 
-    private void validateAccessToOrder(Order order) {
-        String username = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
-                .getUsername();
-        if (!order.getCustomerName().equals(username)) {
-            throw new IllegalArgumentException("Could not get access to order with id: " + order.getOrderId());
+    private static boolean sameProducts(List<Product> before, List<Product> after) {
+        if (before.size() != after.size()) {
+            return false;
         }
+        for (int i = 0; i < before.size(); i++) {
+            if (before.get(i) != after.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void upsertProducts(Order order, List<ProductRequestDto> productRequestDtos) {
+        Map<Long, Product> productsById = order.getProducts().stream()
+                .filter(product -> product.getProductId() != null)
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        Set<Long> updatedProductIds = new HashSet<>();
+        for (ProductRequestDto productRequestDto : productRequestDtos) {
+            Long productId = productRequestDto.getProductId();
+            if (productId == null) {
+                order.getProducts().add(productConverter.requestDtoToEntity(productRequestDto));
+                continue;
+            }
+            Product product = productsById.get(productId);
+            if (product == null) {
+                throw new IllegalArgumentException(
+                        "Could not find product with id: " + productId + " in order with id: " + order.getOrderId());
+            }
+            if (!updatedProductIds.add(productId)) {
+                throw new BadRequestException("Product with id: " + productId + " is listed more than once");
+            }
+            productConverter.updateEntity(product, productRequestDto);
+        }
+    }
+
+    private List<Order> findOrdersWithProducts(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = orderRepository.findAllByOrderIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+        return orderIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private OrderSortKey resolveSortKey(String sortBy, OrderCursor after) {
+        OrderSortKey sortKey = sortBy != null ? OrderSortKey.fromString(sortBy) : null;
+        if (after == null) {
+            return sortKey != null ? sortKey : OrderSortKey.ORDER_ID;
+        }
+        if (sortKey != null && sortKey != after.sortKey()) {
+            throw new BadRequestException("Cursor was issued for sorting by: " + after.sortKey().getTextVal());
+        }
+        return after.sortKey();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private void validateAccessToOrder(String customerName, long orderId) {
+        validateAccessToOrder(customerName, getCurrentUsername(), orderId);
+    }
+
+    static void validateAccessToOrder(String customerName, String username, long orderId) {
+        if (!customerName.equals(username)) {
+            throw new IllegalArgumentException("Could not get access to order with id: " + orderId);
+        }
+    }
+
+    static String getCurrentUsername() {
+        return ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .getUsername();
     }
 }
\ No newline at end of file
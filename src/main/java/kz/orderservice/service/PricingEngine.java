@@ -0,0 +1,90 @@
+package kz.orderservice.service;
+
+import kz.orderservice.config.PricingProperties;
+import kz.orderservice.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes order totals in cents with {@code long} arithmetic, so totals are exact and computing them allocates
+ * nothing per product line. The pricing rules are validated and compiled into primitive arrays once, when the
+ * engine is created. Rounding of discounts and tax is half up, to the cent.
+ */
+@Component
+public class PricingEngine {
+    private static final long BASIS_POINTS = 10_000L;
+    private static final long CENTS_PER_UNIT = 100L;
+    private static final int PRICE_SCALE = 2;
+
+    private final long taxRateBasisPoints;
+    private final long[] discountMinQuantities;
+    private final long[] discountBasisPoints;
+
+    public PricingEngine(PricingProperties pricingProperties) {
+        this.taxRateBasisPoints = requireRate(pricingProperties.taxRateBasisPoints(), "Tax rate");
+        List<PricingProperties.DiscountTier> tiers = pricingProperties.lineDiscounts().stream()
+                .sorted(Comparator.comparingInt(PricingProperties.DiscountTier::minQuantity))
+                .toList();
+        this.discountMinQuantities = new long[tiers.size()];
+        this.discountBasisPoints = new long[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            PricingProperties.DiscountTier tier = tiers.get(i);
+            if (tier.minQuantity() < 1 || (i > 0 && tier.minQuantity() == tiers.get(i - 1).minQuantity())) {
+                throw new IllegalArgumentException("Invalid discount tier quantity: " + tier.minQuantity());
+            }
+            discountMinQuantities[i] = tier.minQuantity();
+            discountBasisPoints[i] = requireRate(tier.discountBasisPoints(), "Discount");
+        }
+    }
+
+    /**
+     * Returns the total of the products, discounts and tax included, with the two decimals of
+     * {@code Order.totalPrice}.
+     */
+    public BigDecimal calculateTotalPrice(List<Product> products) {
+        return BigDecimal.valueOf(calculateTotalCents(products), PRICE_SCALE);
+    }
+
+    public long calculateTotalCents(List<Product> products) {
+        long subtotal = 0;
+        for (Product product : products) {
+            subtotal = Math.addExact(subtotal, lineTotalCents(toCents(product.getPrice()), product.getQuantity()));
+        }
+        return Math.addExact(subtotal, percentOf(subtotal, taxRateBasisPoints));
+    }
+
+    public long lineTotalCents(long unitPriceCents, long quantity) {
+        long gross = Math.multiplyExact(unitPriceCents, quantity);
+        return gross - percentOf(gross, discountFor(quantity));
+    }
+
+    /**
+     * Converts a price with at most two decimals, as stored in the database, to cents.
+     */
+    public static long toCents(double price) {
+        return Math.round(price * CENTS_PER_UNIT);
+    }
+
+    private long discountFor(long quantity) {
+        for (int i = discountMinQuantities.length - 1; i >= 0; i--) {
+            if (quantity >= discountMinQuantities[i]) {
+                return discountBasisPoints[i];
+            }
+        }
+        return 0;
+    }
+
+    private static long percentOf(long amount, long basisPoints) {
+        return (Math.multiplyExact(amount, basisPoints) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    private static long requireRate(int basisPoints, String name) {
+        if (basisPoints < 0 || basisPoints > BASIS_POINTS) {
+            throw new IllegalArgumentException(name + " should be between 0 and 10000 basis points: " + basisPoints);
+        }
+        return basisPoints;
+    }
+}
@@ -0,0 +1,49 @@
+package kz.orderservice.service;
+
+import kz.orderservice.entity.user.User;
+import kz.orderservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of per-user token versions used by stateless authentication. A token is stale when it was
+ * issued with a lower version than the current one. Only users whose version was ever bumped are stored, so the
+ * table stays small; everyone else is implicitly at version 0. The table is loaded from the users table on
+ * startup and kept up to date by {@link UserService}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVersions() {
+        List<User> users = userRepository.findAllByTokenVersionGreaterThan(0);
+        users.forEach(user -> register(user.getUsername(), user.getTokenVersion()));
+        log.info("Loaded token versions of {} users", users.size());
+    }
+
+    public int currentVersion(String username) {
+        return versions.getOrDefault(username, 0);
+    }
+
+    public boolean isCurrent(String username, int tokenVersion) {
+        return tokenVersion >= currentVersion(username);
+    }
+
+    public void register(String username, int version) {
+        if (version > 0) {
+            versions.merge(username, version, Math::max);
+        }
+    }
+}
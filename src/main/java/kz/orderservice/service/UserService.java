@@ -1,5 +1,6 @@
 package kz.orderservice.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import kz.orderservice.converter.UserConverter;
 import kz.orderservice.dto.auth.AuthenticationRequestDto;
@@ -17,6 +18,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = "users.service", histogram = true)
 @RequiredArgsConstructor
 public class UserService {
 
@@ -24,6 +26,7 @@ public class UserService {
     private final UserConverter userConverter;
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     public RegisterResponseDto register(RegisterRequestDto registerRequestDto) {
         if (userRepository.existsByUsername(registerRequestDto.getUsername())) {
@@ -44,6 +47,7 @@ public class UserService {
         );
         User user = userRepository.findByUsername(authenticationRequestDto.getUsername())
                 .orElseThrow(() -> new EntityNotFoundException("Could not find user by username: " + authenticationRequestDto.getPassword()));
+        tokenVersionRegistry.register(user.getUsername(), user.getTokenVersion());
         String jwtToken = jwtService.generateToken(user);
         return AuthenticationResponseDto.builder()
                 .token(jwtToken)
@@ -56,6 +60,8 @@ public class UserService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new EntityNotFoundException("Could not find user by username: " + username));
         user.setRole(Role.ADMIN);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        tokenVersionRegistry.register(username, user.getTokenVersion());
     }
 }
\ No newline at end of file
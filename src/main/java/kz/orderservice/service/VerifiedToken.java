@@ -0,0 +1,14 @@
+package kz.orderservice.service;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiration were verified by {@link JwtService#parseToken(String)}.
+ * {@code role} and {@code tokenVersion} are {@code null} for tokens issued without them.
+ */
+public record VerifiedToken(String username, String role, Integer tokenVersion, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
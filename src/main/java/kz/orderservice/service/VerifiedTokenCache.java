@@ -0,0 +1,85 @@
+package kz.orderservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens that were already verified by {@link JwtService#parseToken(String)}, so a client
+ * repeating the same bearer token skips signature verification and claims parsing. Entries are keyed by the
+ * SHA-256 of the token, never by the token itself, and expire together with the token. Tokens that fail
+ * verification are not cached.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    private final JwtService jwtService;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.token-cache.maximum-size}") long maximumSize) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, tokenCache -> tokenCache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of token lookups served without verifying the token")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the verified claims of the token, parsing it only if it is not cached yet.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is not cached and fails verification
+     */
+    public VerifiedToken get(String token) {
+        return cache.get(hash(token), key -> jwtService.parseToken(token));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
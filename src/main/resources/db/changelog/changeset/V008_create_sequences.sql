@@ -0,0 +1,11 @@
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+SELECT setval('orders_seq', COALESCE((SELECT MAX(order_id) FROM orders), 0) + 50, false);
+ALTER TABLE orders ALTER COLUMN order_id SET DEFAULT nextval('orders_seq');
+ALTER SEQUENCE orders_seq OWNED BY orders.order_id;
+DROP SEQUENCE IF EXISTS orders_order_id_seq;
+
+CREATE SEQUENCE products_seq INCREMENT BY 50;
+SELECT setval('products_seq', COALESCE((SELECT MAX(product_id) FROM products), 0) + 50, false);
+ALTER TABLE products ALTER COLUMN product_id SET DEFAULT nextval('products_seq');
+ALTER SEQUENCE products_seq OWNED BY products.product_id;
+DROP SEQUENCE IF EXISTS products_product_id_seq;
\ No newline at end of file
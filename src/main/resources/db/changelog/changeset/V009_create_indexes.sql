@@ -0,0 +1,5 @@
+CREATE INDEX idx_orders_status_order_id ON orders (status, order_id) WHERE is_deleted = false;
+CREATE INDEX idx_orders_status_total_price_order_id ON orders (status, total_price, order_id) WHERE is_deleted = false;
+CREATE INDEX idx_orders_total_price_order_id ON orders (total_price, order_id) WHERE is_deleted = false;
+CREATE INDEX idx_orders_customer_name ON orders (customer_name) WHERE is_deleted = false;
+CREATE INDEX idx_products_order_id ON products (order_id);
\ No newline at end of file
@@ -0,0 +1,62 @@
+--liquibase formatted sql
+
+--changeset order-service:V010-1
+ALTER TABLE orders ADD COLUMN created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+
+CREATE TABLE order_daily_revenue
+(
+    day         DATE           NOT NULL,
+    status      VARCHAR(64)    NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (day, status)
+);
+
+--changeset order-service:V010-2 splitStatements:false
+CREATE OR REPLACE FUNCTION apply_order_daily_revenue(order_day DATE, order_status VARCHAR, count_delta BIGINT,
+                                                     revenue_delta DECIMAL) RETURNS VOID AS
+$$
+BEGIN
+    INSERT INTO order_daily_revenue (day, status, order_count, revenue)
+    VALUES (order_day, order_status, count_delta, revenue_delta)
+    ON CONFLICT (day, status) DO UPDATE
+        SET order_count = order_daily_revenue.order_count + EXCLUDED.order_count,
+            revenue     = order_daily_revenue.revenue + EXCLUDED.revenue;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maintain_order_daily_revenue() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND OLD.status = NEW.status
+        AND OLD.total_price = NEW.total_price
+        AND OLD.is_deleted = NEW.is_deleted
+        AND OLD.created_at = NEW.created_at THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND NOT OLD.is_deleted THEN
+        PERFORM apply_order_daily_revenue((OLD.created_at AT TIME ZONE 'UTC')::DATE, OLD.status, -1,
+                                          -OLD.total_price);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NOT NEW.is_deleted THEN
+        PERFORM apply_order_daily_revenue((NEW.created_at AT TIME ZONE 'UTC')::DATE, NEW.status, 1,
+                                          NEW.total_price);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset order-service:V010-3
+CREATE TRIGGER orders_maintain_daily_revenue
+    AFTER INSERT OR UPDATE OR DELETE
+    ON orders
+    FOR EACH ROW
+EXECUTE FUNCTION maintain_order_daily_revenue();
+
+INSERT INTO order_daily_revenue (day, status, order_count, revenue)
+SELECT (created_at AT TIME ZONE 'UTC')::DATE, status, COUNT(*), SUM(total_price)
+FROM orders
+WHERE is_deleted = false
+GROUP BY 1, 2;
\ No newline at end of file
@@ -0,0 +1,10 @@
+CREATE TABLE idempotency_keys
+(
+    customer_name VARCHAR(255)             NOT NULL,
+    key_hash      CHAR(64)                 NOT NULL,
+    request_hash  CHAR(64)                 NOT NULL,
+    response_body TEXT,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (customer_name, key_hash)
+);
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,38 @@
+--liquibase formatted sql
+
+--changeset order-service:V013-1
+CREATE TABLE order_revenue_delta
+(
+    delta_id      BIGSERIAL PRIMARY KEY,
+    day           DATE           NOT NULL,
+    status        VARCHAR(64)    NOT NULL,
+    count_delta   BIGINT         NOT NULL,
+    revenue_delta DECIMAL(14, 2) NOT NULL
+);
+CREATE INDEX idx_order_revenue_delta_day ON order_revenue_delta (day);
+
+--changeset order-service:V013-2 splitStatements:false
+CREATE OR REPLACE FUNCTION maintain_order_daily_revenue() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND OLD.status = NEW.status
+        AND OLD.total_price = NEW.total_price
+        AND OLD.is_deleted = NEW.is_deleted
+        AND OLD.created_at = NEW.created_at THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND NOT OLD.is_deleted THEN
+        INSERT INTO order_revenue_delta (day, status, count_delta, revenue_delta)
+        VALUES ((OLD.created_at AT TIME ZONE 'UTC')::DATE, OLD.status, -1, -OLD.total_price);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NOT NEW.is_deleted THEN
+        INSERT INTO order_revenue_delta (day, status, count_delta, revenue_delta)
+        VALUES ((NEW.created_at AT TIME ZONE 'UTC')::DATE, NEW.status, 1, NEW.total_price);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset order-service:V013-3
+DROP FUNCTION apply_order_daily_revenue(DATE, VARCHAR, BIGINT, DECIMAL);
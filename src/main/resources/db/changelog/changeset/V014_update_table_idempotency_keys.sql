@@ -0,0 +1,2 @@
+ALTER TABLE idempotency_keys ADD COLUMN claimed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE idempotency_keys ADD COLUMN claim_token UUID;
@@ -0,0 +1,35 @@
+package kz.orderservice;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class of the tests that need the real schema. One PostgreSQL container is started per test JVM and shared
+ * by every subclass; the tests are skipped when Docker is not available. JDBC statements are counted per thread for
+ * {@link StatementCounter} budgets.
+ */
+@SpringBootTest
+@Import(StatementCountingConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class AbstractPostgresIntegrationTest {
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void reactiveReadProperties(DynamicPropertyRegistry registry) {
+        registry.add("orders.reactive-read.url", () -> "r2dbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + POSTGRES.getDatabaseName());
+        registry.add("orders.reactive-read.username", POSTGRES::getUsername);
+        registry.add("orders.reactive-read.password", POSTGRES::getPassword);
+    }
+}
@@ -0,0 +1,65 @@
+package kz.orderservice;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records the last JDBC statement run on the current thread together with the setter calls that bound its
+ * parameters, so a test can run EXPLAIN with the parameter types the application actually sends, e.g. a
+ * {@code numeric} instead of a {@code float8} price.
+ */
+public final class BoundStatementRecorder implements QueryExecutionListener {
+    private static final ThreadLocal<BoundStatement> LAST_STATEMENT = new ThreadLocal<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        QueryInfo queryInfo = queryInfoList.get(queryInfoList.size() - 1);
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        List<ParameterSetOperation> parameters = parametersList.isEmpty()
+                ? List.of()
+                : parametersList.get(parametersList.size() - 1).stream()
+                        .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                        .toList();
+        LAST_STATEMENT.set(new BoundStatement(queryInfo.getQuery(), parameters));
+    }
+
+    public static void clear() {
+        LAST_STATEMENT.remove();
+    }
+
+    public static BoundStatement lastStatement() {
+        BoundStatement statement = LAST_STATEMENT.get();
+        if (statement == null) {
+            throw new IllegalStateException("No statement was recorded");
+        }
+        return statement;
+    }
+
+    public record BoundStatement(String sql, List<ParameterSetOperation> parameters) {
+
+        /**
+         * Binds the recorded parameters to another statement with the same placeholders, calling the same setters.
+         */
+        public void bindTo(PreparedStatement statement) throws SQLException {
+            for (ParameterSetOperation parameter : parameters) {
+                try {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException exception) {
+                    throw new SQLException("Could not replay " + parameter.getMethod().getName(), exception);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package kz.orderservice;
+
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.product.ProductRequestDto;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Request bodies shared by the service and controller tests, so tests that measure the same path build the same
+ * orders.
+ */
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    /**
+     * A {@code PENDING} order with {@code productCount} products named "Product 0", "Product 1", ..., each priced 10.0
+     * with a quantity of 1.
+     */
+    public static OrderRequestDto orderRequestDto(int productCount) {
+        return orderRequestDto("PENDING", IntStream.range(0, productCount)
+                .mapToObj(i -> productRequestDto("Product " + i, 10.0, 1))
+                .toArray(ProductRequestDto[]::new));
+    }
+
+    public static OrderRequestDto orderRequestDto(String status, ProductRequestDto... products) {
+        return OrderRequestDto.builder()
+                .orderStatus(status)
+                .products(List.of(products))
+                .build();
+    }
+
+    /**
+     * A new product, i.e. one without an id.
+     */
+    public static ProductRequestDto productRequestDto(String name, double price, int quantity) {
+        return productRequestDto(null, name, price, quantity);
+    }
+
+    /**
+     * A product with {@code productId} set, as sent when an update edits a product the order already has.
+     */
+    public static ProductRequestDto productRequestDto(Long productId, String name, double price, int quantity) {
+        return ProductRequestDto.builder()
+                .productId(productId)
+                .name(name)
+                .price(price)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package kz.orderservice;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for integration tests. Counts are kept per thread, so everything the action runs on the test
+ * thread is counted: a service method called directly, or a whole HTTP request performed through {@code MockMvc}.
+ * Reads served over R2DBC do not go through the JDBC {@code DataSource} and are not counted.
+ */
+public final class StatementCounter {
+    static final String DATA_SOURCE_NAME = "order-service";
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Runs the action and fails when it issued more than {@code budget} statements, which is how an N+1 query
+     * regression shows up.
+     */
+    public static <T> T assertAtMost(long budget, String description, Action<T> action) throws Exception {
+        QueryCountHolder.clear();
+        T result = action.run();
+        long statements = statementsSinceClear();
+        assertTrue(statements <= budget,
+                description + " issued " + statements + " statements, the budget is " + budget);
+        return result;
+    }
+
+    public static long count(Action<?> action) throws Exception {
+        QueryCountHolder.clear();
+        action.run();
+        return statementsSinceClear();
+    }
+
+    private static long statementsSinceClear() {
+        QueryCount queryCount = QueryCountHolder.get(DATA_SOURCE_NAME);
+        return queryCount == null ? 0 : queryCount.getTotal();
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+}
@@ -0,0 +1,40 @@
+package kz.orderservice;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a datasource-proxy that counts every JDBC statement per thread, so
+ * {@link StatementCounter} sees JPA, native and {@code JdbcTemplate} queries alike. The proxy also feeds
+ * {@link BoundStatementRecorder}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfiguration {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isStatementCountingProxy(bean)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(StatementCounter.DATA_SOURCE_NAME)
+                        .countQuery()
+                        .listener(new BoundStatementRecorder())
+                        .build();
+            }
+        };
+    }
+
+    private static boolean isStatementCountingProxy(Object bean) {
+        return bean instanceof ProxyDataSource proxyDataSource
+                && StatementCounter.DATA_SOURCE_NAME.equals(proxyDataSource.getProxyConfig().getDataSourceName());
+    }
+}
@@ -0,0 +1,34 @@
+package kz.orderservice;
+
+import kz.orderservice.entity.user.Role;
+import kz.orderservice.entity.user.User;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Signs a test in as a {@link Role#USER} the same way the JWT filter does, so services that read the current user
+ * from the {@link SecurityContextHolder} can be called directly.
+ */
+public final class TestAuthentication {
+
+    private TestAuthentication() {
+    }
+
+    /**
+     * Authenticates the current thread as {@code username}. Worker threads started by a test have to call this
+     * themselves, since the security context is held per thread.
+     */
+    public static void authenticate(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .role(Role.USER)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    public static void clear() {
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,73 @@
+package kz.orderservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private Connection targetConnection;
+
+    private BulkheadDataSource bulkheadDataSource;
+
+    @BeforeEach
+    void setUp() {
+        bulkheadDataSource = new BulkheadDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Testing getConnection fails fast when every slot is taken and succeeds once one is freed")
+    void testGetConnectionWhenBulkheadIsFull() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Connection first = bulkheadDataSource.getConnection();
+        bulkheadDataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> bulkheadDataSource.getConnection());
+
+        first.close();
+        bulkheadDataSource.getConnection();
+        verify(targetDataSource, times(3)).getConnection();
+        verify(targetConnection, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Testing closing a connection twice frees its slot only once")
+    void testCloseTwice() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Connection connection = bulkheadDataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, bulkheadDataSource.getAvailablePermits());
+        verify(targetConnection, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Testing getConnection frees the slot when the pool fails")
+    void testGetConnectionWhenPoolFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThrows(SQLTransientConnectionException.class, () -> bulkheadDataSource.getConnection());
+
+        assertEquals(2, bulkheadDataSource.getAvailablePermits());
+    }
+}
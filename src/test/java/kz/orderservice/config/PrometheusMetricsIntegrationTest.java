@@ -0,0 +1,122 @@
+package kz.orderservice.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.dto.auth.AuthenticationRequestDto;
+import kz.orderservice.dto.auth.RegisterRequestDto;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.product.ProductRequestDto;
+import kz.orderservice.entity.user.Role;
+import kz.orderservice.entity.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusMetricsIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Testing the Prometheus endpoint exposes the service, auth, cache and Hibernate metrics to admins")
+    void testPrometheusEndpoint() throws Exception {
+        String username = "metrics-" + UUID.randomUUID();
+        mockMvc.perform(post("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequestDto(username, "password"))))
+                .andExpect(status().isOk());
+        String loginResponse = mockMvc.perform(post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthenticationRequestDto(username, "password"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode token = objectMapper.readTree(loginResponse).get("token");
+        String createResponse = mockMvc.perform(post("/orders")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.asText())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderRequestDto.builder()
+                                .orderStatus("PENDING")
+                                .products(List.of(ProductRequestDto.builder()
+                                        .name("Laptop")
+                                        .price(100.0)
+                                        .quantity(1)
+                                        .build()))
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(createResponse).get("orderId").asLong();
+        MvcResult lookup = mockMvc.perform(get("/orders/{orderId}", orderId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.asText()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(lookup))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")
+                        .with(user(admin())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertMetric(scrape, "orders_service_seconds_bucket", "method=\"createOrder\"");
+        assertMetric(scrape, "users_service_seconds_count", "method=\"authenticate\"");
+        assertMetric(scrape, "jwt_parse_seconds_count", "");
+        assertMetric(scrape, "jwt_generate_seconds_count", "");
+        assertMetric(scrape, "auth_password_hashing_seconds_count", "operation=\"encode\"");
+        assertMetric(scrape, "auth_password_hashing_seconds_count", "operation=\"matches\"");
+        assertMetric(scrape, "cache_gets_total", "cache=\"orders\"");
+        assertMetric(scrape, "orders_reactive_lookup_flow_duration_seconds_count", "status=\"completed\"");
+        assertMetric(scrape, "r2dbc_pool_acquired_connections", "name=\"reactive-read\"");
+        assertMetric(scrape, "repository_invocations_seconds_bucket", "repository=\"UserRepository\"");
+        assertMetric(scrape, "hibernate_query_executions_total", "");
+        assertMetric(scrape, "hibernate_entities_loads_total", "");
+        assertMetric(scrape, "hibernate_collections_fetches_total", "");
+    }
+
+    @Test
+    @DisplayName("Testing the Prometheus endpoint is refused without credentials and for non-admin users")
+    void testPrometheusEndpointRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(user(User.builder()
+                                .username("metrics-user")
+                                .password("password")
+                                .role(Role.USER)
+                                .build())))
+                .andExpect(status().isForbidden());
+    }
+
+    private static User admin() {
+        return User.builder()
+                .username("metrics-admin")
+                .password("password")
+                .role(Role.ADMIN)
+                .build();
+    }
+
+    private static void assertMetric(String scrape, String name, String tag) {
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith(name + "{") && line.contains(tag)),
+                "Missing " + name + " " + tag);
+    }
+}
@@ -0,0 +1,93 @@
+package kz.orderservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.orderservice.repository.OrderCursor;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.repository.OrderRepository;
+import kz.orderservice.repository.OrderRepositoryCustom;
+import kz.orderservice.repository.OrderSortKey;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryMetricsInterceptorTest {
+    @Mock
+    private MethodInvocation invocation;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RepositoryStatementRecorder statementRecorder = new RepositoryStatementRecorder();
+    private RepositoryMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new RepositoryMetricsInterceptor(OrderRepository.class, statementRecorder,
+                () -> meterRegistry, () -> Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Testing invoke times the call tagged with the repository, method and filter shape")
+    void testInvokeRecordsTimer() throws Throwable {
+        stubFindPageIds();
+        when(invocation.proceed()).thenAnswer(call -> {
+            statementRecorder.afterQuery(new ExecutionInfo(), List.of(new QueryInfo("SELECT order_id FROM orders")));
+            return List.of(1L, 2L);
+        });
+
+        assertEquals(List.of(1L, 2L), interceptor.invoke(invocation));
+
+        assertEquals(1, meterRegistry.get("repository.invocations")
+                .tag("repository", "OrderRepository")
+                .tag("method", "findPageIds")
+                .tag("filter", "status+maxPrice")
+                .tag("exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Testing invoke tags a failed call with its exception")
+    void testInvokeRecordsException() throws Throwable {
+        stubFindPageIds();
+        when(invocation.proceed()).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> interceptor.invoke(invocation));
+
+        assertEquals(1, meterRegistry.get("repository.invocations")
+                .tag("exception", "QueryTimeoutException")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Testing statements of a nested call are also recorded for the enclosing call")
+    void testNestedRecording() {
+        List<RepositoryStatementRecorder.RecordedStatement> outer = statementRecorder.begin();
+        List<RepositoryStatementRecorder.RecordedStatement> enclosing = statementRecorder.begin();
+        statementRecorder.afterQuery(new ExecutionInfo(), List.of(new QueryInfo("SELECT 1")));
+        List<RepositoryStatementRecorder.RecordedStatement> nested = statementRecorder.end(enclosing);
+        List<RepositoryStatementRecorder.RecordedStatement> all = statementRecorder.end(outer);
+
+        assertEquals(1, nested.size());
+        assertEquals(List.of(new RepositoryStatementRecorder.RecordedStatement("SELECT 1", 0, 0)), all);
+    }
+
+    private void stubFindPageIds() throws NoSuchMethodException {
+        when(invocation.getMethod()).thenReturn(OrderRepositoryCustom.class.getMethod("findPageIds",
+                OrderFilter.class, OrderSortKey.class, OrderCursor.class, int.class));
+        when(invocation.getArguments()).thenReturn(new Object[]{
+                OrderFilter.of("PENDING", null, 100.0), OrderSortKey.ORDER_ID, null, 21});
+    }
+}
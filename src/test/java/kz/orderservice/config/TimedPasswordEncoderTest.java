@@ -0,0 +1,34 @@
+package kz.orderservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TimedPasswordEncoder timedPasswordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        timedPasswordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Testing encode and matches delegate to BCrypt and are timed separately")
+    void testEncodeAndMatchesAreTimed() {
+        String encodedPassword = timedPasswordEncoder.encode("password");
+
+        assertTrue(timedPasswordEncoder.matches("password", encodedPassword));
+        assertFalse(timedPasswordEncoder.matches("wrong password", encodedPassword));
+
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+    }
+}
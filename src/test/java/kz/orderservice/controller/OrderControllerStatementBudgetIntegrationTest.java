@@ -0,0 +1,123 @@
+package kz.orderservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.StatementCounter;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
+import kz.orderservice.entity.user.Role;
+import kz.orderservice.entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class OrderControllerStatementBudgetIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final User customer = User.builder()
+            .username("customer")
+            .password("password")
+            .role(Role.USER)
+            .build();
+    private final User admin = User.builder()
+            .username("admin")
+            .password("password")
+            .role(Role.ADMIN)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders, order_daily_revenue, order_revenue_delta");
+        jdbcTemplate.update("""
+                INSERT INTO orders (customer_name, status, total_price, is_deleted)
+                SELECT 'customer', 'PENDING', 30, false
+                FROM generate_series(1, 60)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO products (name, price, quantity, order_id)
+                SELECT 'Product ' || i, 10, 1, order_id
+                FROM orders, generate_series(1, 3) AS i
+                """);
+    }
+
+    @Test
+    @DisplayName("Testing GET /orders stays within its statement budget for a full page")
+    void testGetOrdersStatementBudget() throws Exception {
+        StatementCounter.assertAtMost(2, "GET /orders?size=50", () -> mockMvc.perform(get("/orders")
+                        .param("size", "50")
+                        .with(user(admin)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Testing GET /orders/{orderId} reads an uncached order without JDBC statements")
+    void testGetOrderStatementBudget() throws Exception {
+        Long orderId = jdbcTemplate.queryForObject("SELECT MIN(order_id) FROM orders", Long.class);
+        cacheManager.getCache("orders").clear();
+
+        // the order and its products are read over R2DBC in one query, which this counter does not see
+        StatementCounter.assertAtMost(0, "GET /orders/{orderId}", () -> {
+            MvcResult mvcResult = mockMvc.perform(get("/orders/{orderId}", orderId)
+                            .with(user(customer)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.products.length()").value(3));
+        });
+    }
+
+    @Test
+    @DisplayName("Testing POST /orders stays within its statement budget for an order with many products")
+    void testCreateOrderStatementBudget() throws Exception {
+        createOrder(1);
+
+        // one insert of the order, one batch of products and at most one refill of each id sequence
+        StatementCounter.assertAtMost(4, "POST /orders with 30 products", () -> createOrder(30));
+    }
+
+    @Test
+    @DisplayName("Testing PATCH /orders/{orderId}/status changes the status with a single statement")
+    void testUpdateOrderStatusStatementBudget() throws Exception {
+        Long orderId = jdbcTemplate.queryForObject("SELECT MIN(order_id) FROM orders", Long.class);
+
+        StatementCounter.assertAtMost(1, "PATCH /orders/{orderId}/status", () -> mockMvc.perform(
+                        patch("/orders/{orderId}/status", orderId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new OrderStatusUpdateRequestDto("CONFIRMED")))
+                                .with(user(customer)))
+                .andExpect(status().isOk()));
+    }
+
+    private Object createOrder(int productCount) throws Exception {
+        return mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto(productCount)))
+                        .with(user(customer)))
+                .andExpect(status().isCreated());
+    }
+}
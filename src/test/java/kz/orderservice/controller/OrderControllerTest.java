@@ -1,11 +1,31 @@
 package kz.orderservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.dto.order.OrderBatchItemResultDto;
+import kz.orderservice.dto.order.OrderBatchItemStatus;
+import kz.orderservice.dto.order.OrderBatchResponseDto;
+import kz.orderservice.dto.order.OrderBulkOperation;
+import kz.orderservice.dto.order.OrderBulkRequestDto;
+import kz.orderservice.dto.order.OrderBulkResponseDto;
+import kz.orderservice.dto.order.OrderPageResponseDto;
+import kz.orderservice.dto.order.OrderProductsPatchRequestDto;
 import kz.orderservice.dto.order.OrderRequestDto;
 import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.order.OrderStatsResponseDto;
+import kz.orderservice.dto.order.OrderStatusResponseDto;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
+import kz.orderservice.dto.order.OrderStatusStatsDto;
 import kz.orderservice.dto.product.ProductRequestDto;
 import kz.orderservice.dto.product.ProductResponseDto;
 import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.handler.GlobalExceptionHandler;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.service.IdempotencyService;
+import kz.orderservice.service.OrderBatchService;
+import kz.orderservice.service.OrderBulkService;
+import kz.orderservice.service.OrderExportService;
+import kz.orderservice.service.OrderReactiveLookupService;
 import kz.orderservice.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,23 +33,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +73,16 @@ class OrderControllerTest {
     private OrderController orderController;
     @Mock
     private OrderService orderService;
+    @Mock
+    private OrderExportService orderExportService;
+    @Mock
+    private OrderBatchService orderBatchService;
+    @Mock
+    private OrderBulkService orderBulkService;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private OrderReactiveLookupService orderReactiveLookupService;
 
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
@@ -50,6 +95,8 @@ class OrderControllerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
         objectMapper = new ObjectMapper();
+        Mockito.lenient().when(idempotencyService.execute(any(), any(), any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(4).get());
 
         long productId = 1L;
         String productName = "Product Name";
@@ -78,6 +125,7 @@ class OrderControllerTest {
                 .status(OrderStatus.fromString(orderStatus))
                 .totalPrice(orderTotalPrice)
                 .products(List.of(productResponseDto))
+                .version(2L)
                 .build();
     }
 
@@ -102,6 +150,22 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrder(orderRequestDto);
     }
 
+    @Test
+    @DisplayName("Testing createOrder controller passes the idempotency key to the idempotency service")
+    void shouldCreateOrderWithIdempotencyKey() throws Exception {
+        when(orderService.createOrder(orderRequestDto)).thenReturn(orderResponseDto);
+
+        mockMvc.perform(post("/orders")
+                        .header("Idempotency-Key", "create-order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderId").value(orderResponseDto.getOrderId()));
+
+        verify(idempotencyService, times(1)).execute(eq("create-order-1"), eq("createOrder"),
+                eq(orderRequestDto), eq(OrderResponseDto.class), any());
+    }
+
     @Test
     @DisplayName("Testing createOrder controller for bad request when arguments are missing")
     void shouldReturnBadRequestForInvalidData() throws Exception {
@@ -113,10 +177,105 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Testing createOrders controller for successful execution")
+    void shouldCreateOrdersInBatch() throws Exception {
+        List<OrderRequestDto> orderRequestDtos = List.of(orderRequestDto, new OrderRequestDto());
+        OrderBatchResponseDto orderBatchResponseDto = OrderBatchResponseDto.builder()
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        OrderBatchItemResultDto.builder()
+                                .index(0)
+                                .status(OrderBatchItemStatus.CREATED)
+                                .order(orderResponseDto)
+                                .build(),
+                        OrderBatchItemResultDto.builder()
+                                .index(1)
+                                .status(OrderBatchItemStatus.FAILED)
+                                .error("products: Products list should not be empty")
+                                .build()))
+                .build();
+        when(orderBatchService.createOrders(orderRequestDtos)).thenReturn(orderBatchResponseDto);
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].order.orderId").value(orderId))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].error").value("products: Products list should not be empty"));
+
+        verify(orderBatchService, times(1)).createOrders(orderRequestDtos);
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation controller for successful execution")
+    void shouldApplyBulkOperation() throws Exception {
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.SOFT_DELETE)
+                .orderIds(List.of(1L, 2L, 3L))
+                .build();
+        when(orderBulkService.applyBulkOperation(bulkRequestDto))
+                .thenReturn(OrderBulkResponseDto.builder().affectedRows(3).build());
+
+        mockMvc.perform(post("/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedRows").value(3));
+
+        verify(orderBulkService, times(1)).applyBulkOperation(bulkRequestDto);
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation controller for bad request when operation is missing")
+    void shouldReturnBadRequestForMissingBulkOperation() throws Exception {
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .orderIds(List.of(1L))
+                .build();
+
+        mockMvc.perform(post("/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequestDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Testing getOrderStats controller for successful execution")
+    void shouldReturnOrderStats() throws Exception {
+        OrderStatsResponseDto orderStatsResponseDto = OrderStatsResponseDto.builder()
+                .orderCount(2L)
+                .revenue(6000.0)
+                .statuses(List.of(OrderStatusStatsDto.builder()
+                        .status(OrderStatus.CONFIRMED)
+                        .orderCount(2L)
+                        .revenue(6000.0)
+                        .averagePrice(3000.0)
+                        .minPrice(2000.0)
+                        .maxPrice(4000.0)
+                        .build()))
+                .build();
+        when(orderService.getOrderStats("CONFIRMED", null, null)).thenReturn(orderStatsResponseDto);
+
+        mockMvc.perform(get("/orders/stats")
+                        .param("status", "CONFIRMED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(2))
+                .andExpect(jsonPath("$.revenue").value(6000.0))
+                .andExpect(jsonPath("$.statuses[0].status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.statuses[0].averagePrice").value(3000.0));
+
+        verify(orderService, times(1)).getOrderStats("CONFIRMED", null, null);
+    }
+
     @Test
     @DisplayName("Testing updateOrder controller for successful execution")
     void shouldUpdateOrderSuccessfully() throws Exception {
-        when(orderService.updateOrder(orderId, orderRequestDto)).thenReturn(orderResponseDto);
+        when(orderService.updateOrder(orderId, orderRequestDto, null)).thenReturn(orderResponseDto);
 
         mockMvc.perform(put("/orders/{orderId}", orderId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -131,7 +290,37 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.products[0].price").value(productResponseDto.getPrice()))
                 .andExpect(jsonPath("$.products[0].quantity").value(productResponseDto.getQuantity()));
 
-        verify(orderService, times(1)).updateOrder(orderId, orderRequestDto);
+        verify(orderService, times(1)).updateOrder(orderId, orderRequestDto, null);
+    }
+
+    @Test
+    @DisplayName("Testing updateOrder controller passes the version of If-Match")
+    void shouldUpdateOrderWithIfMatch() throws Exception {
+        when(orderService.updateOrder(orderId, orderRequestDto, 2L)).thenReturn(orderResponseDto);
+
+        mockMvc.perform(put("/orders/{orderId}", orderId)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        verify(orderService, times(1)).updateOrder(orderId, orderRequestDto, 2L);
+    }
+
+    @Test
+    @DisplayName("Testing updateOrder controller rejects a weak ETag in If-Match")
+    void shouldRejectWeakIfMatch() throws Exception {
+        MockMvcBuilders.standaloneSetup(orderController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build()
+                .perform(put("/orders/{orderId}", orderId)
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(orderService);
     }
 
     @Test
@@ -145,14 +334,84 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Testing patchOrderProducts controller for successful execution")
+    void shouldPatchOrderProductsSuccessfully() throws Exception {
+        OrderProductsPatchRequestDto patchRequestDto = OrderProductsPatchRequestDto.builder()
+                .products(orderRequestDto.getProducts())
+                .removedProductIds(List.of(2L))
+                .build();
+        when(orderService.patchOrderProducts(orderId, patchRequestDto, null)).thenReturn(orderResponseDto);
+
+        mockMvc.perform(patch("/orders/{orderId}/products", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(orderResponseDto.getOrderId()))
+                .andExpect(jsonPath("$.products[0].productId").value(productResponseDto.getProductId()));
+
+        verify(orderService, times(1)).patchOrderProducts(orderId, patchRequestDto, null);
+    }
+
+    @Test
+    @DisplayName("Testing patchOrderProducts controller for bad request when a product is invalid")
+    void shouldReturnBadRequestForInvalidDataOnPatch() throws Exception {
+        OrderProductsPatchRequestDto patchRequestDto = OrderProductsPatchRequestDto.builder()
+                .products(List.of(new ProductRequestDto()))
+                .build();
+
+        mockMvc.perform(patch("/orders/{orderId}/products", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patchRequestDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus controller for successful execution")
+    void shouldUpdateOrderStatusSuccessfully() throws Exception {
+        OrderStatusUpdateRequestDto statusRequestDto = OrderStatusUpdateRequestDto.builder()
+                .orderStatus("CONFIRMED")
+                .build();
+        OrderStatusResponseDto statusResponseDto = OrderStatusResponseDto.builder()
+                .orderId(orderId)
+                .status(OrderStatus.CONFIRMED)
+                .version(4L)
+                .build();
+        when(orderService.updateOrderStatus(orderId, statusRequestDto, 3L)).thenReturn(statusResponseDto);
+
+        mockMvc.perform(patch("/orders/{orderId}/status", orderId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.orderId").value(orderId))
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+
+        verify(orderService, times(1)).updateOrderStatus(orderId, statusRequestDto, 3L);
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus controller for bad request when status is missing")
+    void shouldReturnBadRequestForMissingStatus() throws Exception {
+        mockMvc.perform(patch("/orders/{orderId}/status", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderStatusUpdateRequestDto())))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Testing getOrders controller for successful execution with filters")
     void shouldGetOrdersWithFiltersSuccessfully() throws Exception {
         String orderStatus = "PENDING";
         double minPrice = 100.0;
         double maxPrice = 5000.0;
-        when(orderService.getOrdersWithFilters(orderStatus, minPrice, maxPrice))
-                .thenReturn(List.of(orderResponseDto));
+        String nextCursor = "next-cursor";
+        when(orderService.getOrdersWithFilters(orderStatus, minPrice, maxPrice, null, null, null))
+                .thenReturn(OrderPageResponseDto.builder()
+                        .orders(List.of(orderResponseDto))
+                        .nextCursor(nextCursor)
+                        .build());
 
         mockMvc.perform(get("/orders")
                         .param("status", orderStatus)
@@ -160,24 +419,90 @@ class OrderControllerTest {
                         .param("maxPrice", String.valueOf(maxPrice)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].orderId").value(orderResponseDto.getOrderId()))
-                .andExpect(jsonPath("$[0].totalPrice").value(orderResponseDto.getTotalPrice()))
-                .andExpect(jsonPath("$[0].status").value(orderResponseDto.getStatus().toString()))
-                .andExpect(jsonPath("$[0].products[0].productId").value(productResponseDto.getProductId()))
-                .andExpect(jsonPath("$[0].products[0].name").value(productResponseDto.getName()))
-                .andExpect(jsonPath("$[0].products[0].price").value(productResponseDto.getPrice()))
-                .andExpect(jsonPath("$[0].products[0].quantity").value(productResponseDto.getQuantity()));
+                .andExpect(jsonPath("$.orders[0].orderId").value(orderResponseDto.getOrderId()))
+                .andExpect(jsonPath("$.orders[0].totalPrice").value(orderResponseDto.getTotalPrice()))
+                .andExpect(jsonPath("$.orders[0].status").value(orderResponseDto.getStatus().toString()))
+                .andExpect(jsonPath("$.orders[0].products[0].productId").value(productResponseDto.getProductId()))
+                .andExpect(jsonPath("$.orders[0].products[0].name").value(productResponseDto.getName()))
+                .andExpect(jsonPath("$.orders[0].products[0].price").value(productResponseDto.getPrice()))
+                .andExpect(jsonPath("$.orders[0].products[0].quantity").value(productResponseDto.getQuantity()))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
 
-        verify(orderService, times(1)).getOrdersWithFilters(orderStatus, minPrice, maxPrice);
+        verify(orderService, times(1)).getOrdersWithFilters(orderStatus, minPrice, maxPrice, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Testing getOrders controller passes cursor, sort key and page size to the service")
+    void shouldGetNextPageOfOrders() throws Exception {
+        String cursor = "cursor";
+        when(orderService.getOrdersWithFilters(null, null, null, "totalPrice", cursor, 50))
+                .thenReturn(OrderPageResponseDto.builder()
+                        .orders(List.of(orderResponseDto))
+                        .build());
+
+        mockMvc.perform(get("/orders")
+                        .param("sortBy", "totalPrice")
+                        .param("cursor", cursor)
+                        .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].orderId").value(orderResponseDto.getOrderId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(orderService, times(1)).getOrdersWithFilters(null, null, null, "totalPrice", cursor, 50);
+    }
+
+    @Test
+    @DisplayName("Testing getOrders controller for bad request when the cursor is invalid")
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        when(orderService.getOrdersWithFilters(null, null, null, null, "not-a-cursor", null))
+                .thenThrow(new BadRequestException("Invalid cursor: not-a-cursor"));
+
+        MockMvcBuilders.standaloneSetup(orderController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build()
+                .perform(get("/orders")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid cursor: not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("Testing exportOrders controller streams newline-delimited JSON")
+    void shouldExportOrdersAsNdjson() throws Exception {
+        String exportedLine = "{\"orderId\":10}\n";
+        OrderFilter filter = OrderFilter.of("PENDING", 100.0, null);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write(exportedLine.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExportService).exportOrders(eq(filter), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/orders/export")
+                        .param("status", "PENDING")
+                        .param("minPrice", "100.0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(exportedLine));
+
+        verify(orderExportService, times(1)).exportOrders(eq(filter), any(OutputStream.class));
     }
 
     @Test
     @DisplayName("Testing getOrder by ID controller for successful execution")
     void shouldGetOrderByIdSuccessfully() throws Exception {
-        when(orderService.getOrderById(orderId)).thenReturn(orderResponseDto);
+        when(orderReactiveLookupService.getOrderById(orderId)).thenReturn(Mono.just(orderResponseDto));
+
+        MvcResult mvcResult = mockMvc.perform(get("/orders/{orderId}", orderId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/orders/{orderId}", orderId))
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.orderId").value(orderResponseDto.getOrderId()))
                 .andExpect(jsonPath("$.totalPrice").value(orderResponseDto.getTotalPrice()))
@@ -187,7 +512,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.products[0].price").value(productResponseDto.getPrice()))
                 .andExpect(jsonPath("$.products[0].quantity").value(productResponseDto.getQuantity()));
 
-        verify(orderService, times(1)).getOrderById(orderId);
+        verify(orderReactiveLookupService, times(1)).getOrderById(orderId);
     }
 
     @Test
@@ -0,0 +1,96 @@
+package kz.orderservice.controller;
+
+import kz.orderservice.dto.report.DailyRevenueDto;
+import kz.orderservice.dto.report.DailyRevenueRebuildResponseDto;
+import kz.orderservice.dto.report.DailyRevenueReportDto;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.service.OrderReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ReportControllerTest {
+    @InjectMocks
+    private ReportController reportController;
+    @Mock
+    private OrderReportService orderReportService;
+
+    private MockMvc mockMvc;
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reportController).build();
+    }
+
+    @Test
+    @DisplayName("Testing getDailyRevenue controller for successful execution")
+    void shouldReturnDailyRevenue() throws Exception {
+        DailyRevenueReportDto report = DailyRevenueReportDto.builder()
+                .orderCount(2L)
+                .revenue(300.0)
+                .days(List.of(DailyRevenueDto.builder()
+                        .day(from)
+                        .status(OrderStatus.CONFIRMED)
+                        .orderCount(2L)
+                        .revenue(300.0)
+                        .build()))
+                .build();
+        when(orderReportService.getDailyRevenue(from, to, null)).thenReturn(report);
+
+        mockMvc.perform(get("/orders/reports/daily-revenue")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(2))
+                .andExpect(jsonPath("$.revenue").value(300.0))
+                .andExpect(jsonPath("$.days[0].status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.days[0].orderCount").value(2));
+
+        verify(orderReportService, times(1)).getDailyRevenue(from, to, null);
+    }
+
+    @Test
+    @DisplayName("Testing getDailyRevenue controller for bad request when the range is missing")
+    void shouldReturnBadRequestWithoutRange() throws Exception {
+        mockMvc.perform(get("/orders/reports/daily-revenue"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Testing rebuildDailyRevenue controller for successful execution")
+    void shouldRebuildDailyRevenue() throws Exception {
+        when(orderReportService.rebuildDailyRevenue(from, to)).thenReturn(DailyRevenueRebuildResponseDto.builder()
+                .from(from)
+                .to(to)
+                .rows(12)
+                .build());
+
+        mockMvc.perform(post("/orders/reports/daily-revenue/rebuild")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(12));
+
+        verify(orderReportService, times(1)).rebuildDailyRevenue(from, to);
+    }
+}
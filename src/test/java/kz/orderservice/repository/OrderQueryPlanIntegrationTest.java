@@ -0,0 +1,152 @@
+package kz.orderservice.repository;
+
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.BoundStatementRecorder;
+import kz.orderservice.BoundStatementRecorder.BoundStatement;
+import kz.orderservice.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL that the order repository queries actually generate, bound with the parameters they
+ * actually send, against a seeded table large enough for the planner to prefer indexes, and fails when a plan
+ * falls back to a sequential scan. The export query is not covered, since reading every matching row is a
+ * sequential scan by design.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderQueryPlanIntegrationTest extends AbstractPostgresIntegrationTest {
+    private static final int ORDER_COUNT = 50_000;
+    private static final int PAGE_LIMIT = 21;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders");
+        jdbcTemplate.update("""
+                INSERT INTO orders (customer_name, status, total_price, is_deleted)
+                SELECT 'customer' || (i % 1000),
+                       (ARRAY ['PENDING', 'CONFIRMED', 'CANCELLED'])[1 + i % 3],
+                       1 + (i % 10000) / 10.0,
+                       i % 10 = 0
+                FROM generate_series(1, ?) AS i
+                """, ORDER_COUNT);
+        jdbcTemplate.update("""
+                INSERT INTO products (name, price, quantity, order_id)
+                SELECT 'Product ' || n, 10.0, 1, order_id
+                FROM orders, generate_series(1, 2) AS n
+                """);
+        jdbcTemplate.execute("ANALYZE orders");
+        jdbcTemplate.execute("ANALYZE products");
+    }
+
+    @BeforeEach
+    void setUp() {
+        BoundStatementRecorder.clear();
+    }
+
+    @Test
+    @DisplayName("Testing the plan of the first page without filters")
+    void testFindPageIdsWithoutFilters() {
+        orderRepository.findPageIds(new OrderFilter(null, null, null), OrderSortKey.ORDER_ID, null, PAGE_LIMIT);
+
+        assertNoSeqScan(BoundStatementRecorder.lastStatement());
+    }
+
+    @Test
+    @DisplayName("Testing the plan of a page filtered by status after an id cursor")
+    void testFindPageIdsByStatus() {
+        OrderCursor after = new OrderCursor(OrderSortKey.ORDER_ID, null, 25_000L);
+        orderRepository.findPageIds(new OrderFilter(OrderStatus.PENDING, null, null), OrderSortKey.ORDER_ID,
+                after, PAGE_LIMIT);
+
+        assertNoSeqScan(BoundStatementRecorder.lastStatement());
+    }
+
+    @Test
+    @DisplayName("Testing the plan of a page filtered by status and price range sorted by price")
+    void testFindPageIdsByStatusAndPriceSortedByPrice() {
+        orderRepository.findPageIds(OrderFilter.of("CONFIRMED", 100.0, 200.0), OrderSortKey.TOTAL_PRICE,
+                null, PAGE_LIMIT);
+
+        assertPriceIndexCond(BoundStatementRecorder.lastStatement());
+    }
+
+    @Test
+    @DisplayName("Testing the plan of a page filtered by price range after a price cursor")
+    void testFindPageIdsByPriceAfterCursor() {
+        OrderCursor after = new OrderCursor(OrderSortKey.TOTAL_PRICE, new BigDecimal("150.00"), 1_000L);
+        orderRepository.findPageIds(OrderFilter.of(null, 100.0, 500.0), OrderSortKey.TOTAL_PRICE, after,
+                PAGE_LIMIT);
+
+        assertPriceIndexCond(BoundStatementRecorder.lastStatement());
+    }
+
+    @Test
+    @DisplayName("Testing the plan of loading a page of orders with their products")
+    void testFindAllByOrderIdIn() {
+        List<Long> orderIds = jdbcTemplate.queryForList(
+                "SELECT order_id FROM orders ORDER BY order_id DESC LIMIT 20", Long.class);
+        orderRepository.findAllByOrderIdIn(orderIds);
+
+        assertNoSeqScan(BoundStatementRecorder.lastStatement());
+    }
+
+    @Test
+    @DisplayName("Testing the plan of loading a single active order")
+    void testFindByOrderIdAndIsDeletedFalse() {
+        Long orderId = jdbcTemplate.queryForObject("SELECT MAX(order_id) FROM orders", Long.class);
+        orderRepository.findByOrderIdAndIsDeletedFalse(orderId);
+
+        assertNoSeqScan(BoundStatementRecorder.lastStatement());
+    }
+
+    private String assertNoSeqScan(BoundStatement statement) {
+        String plan = explain(statement);
+        assertFalse(plan.contains("Seq Scan"), "Sequential scan in the plan of:\n" + statement.sql() + "\n" + plan);
+        return plan;
+    }
+
+    /**
+     * The price bounds have to reach an index as an {@code Index Cond} on {@code total_price}. A bound sent as
+     * {@code float8} casts the decimal column instead, which leaves the price to a filter over the scanned rows.
+     */
+    private void assertPriceIndexCond(BoundStatement statement) {
+        String plan = assertNoSeqScan(statement);
+        assertTrue(plan.lines().anyMatch(line -> line.contains("Index Cond") && line.contains("total_price")),
+                "No index condition on the price in the plan of:\n" + statement.sql() + "\n" + plan);
+        assertFalse(plan.contains("double precision"), "Price cast in the plan of:\n" + statement.sql() + "\n" + plan);
+    }
+
+    private String explain(BoundStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                statement.bindTo(explain);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package kz.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderBulkResponseDto;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.exception.IdempotencyKeyConflictException;
+import kz.orderservice.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger actionCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute(
+                "TRUNCATE TABLE idempotency_keys, products, orders, order_daily_revenue, order_revenue_delta");
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing a claim abandoned by a dead node is retried right away and taken over once its lease expired")
+    void testAbandonedClaimIsTakenOver() throws Exception {
+        String keyHash = sha256("key-1");
+        String requestHash = sha256("createOrder:" + objectMapper.writeValueAsString("request"));
+        UUID abandonedClaim = UUID.randomUUID();
+        assertTrue(idempotencyKeyRepository.claim("customer", keyHash, requestHash, abandonedClaim,
+                Duration.ofMinutes(2)));
+
+        long start = System.nanoTime();
+        assertThrows(IdempotencyKeyConflictException.class, this::execute);
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        assertEquals(0, actionCalls.get());
+
+        jdbcTemplate.update("UPDATE idempotency_keys SET claimed_at = now() - INTERVAL '1 hour'");
+
+        assertEquals(1, execute().getAffectedRows());
+        assertEquals(1, execute().getAffectedRows());
+        assertEquals(1, actionCalls.get());
+        assertFalse(idempotencyKeyRepository.complete("customer", keyHash, abandonedClaim,
+                "{\"affectedRows\":7}"));
+        assertEquals("{\"affectedRows\":1}", jdbcTemplate.queryForObject(
+                "SELECT response_body FROM idempotency_keys WHERE key_hash = ?", String.class, keyHash));
+    }
+
+    @Test
+    @DisplayName("Testing a key whose lease expired after its order was committed replays the order")
+    void testLeaseExpiredAfterCommitReplaysOrder() {
+        OrderResponseDto first = createOrder(orderRequestDto(1));
+
+        jdbcTemplate.update("UPDATE idempotency_keys SET claimed_at = now() - INTERVAL '1 hour'");
+        OrderResponseDto second = createOrder(orderRequestDto(1));
+
+        assertEquals(first.getOrderId(), second.getOrderId());
+        assertEquals(1, actionCalls.get());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Testing a request whose claim was taken over before it completed rolls its order back")
+    void testClaimTakenOverBeforeCompletionRollsBackOrder() throws Exception {
+        String keyHash = sha256("key-1");
+        String requestHash = sha256("createOrder:" + objectMapper.writeValueAsString(orderRequestDto(1)));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> idempotencyService.execute("key-1",
+                "createOrder", orderRequestDto(1), OrderResponseDto.class, () -> {
+                    OrderResponseDto order = orderService.createOrder(orderRequestDto(1));
+                    // another node takes the claim over on its own connection while the order is uncommitted
+                    CompletableFuture.runAsync(() -> {
+                        jdbcTemplate.update("UPDATE idempotency_keys SET claimed_at = now() - INTERVAL '1 hour'");
+                        assertTrue(idempotencyKeyRepository.claim("customer", keyHash, requestHash,
+                                UUID.randomUUID(), Duration.ofMinutes(2)));
+                    }).join();
+                    return order;
+                }));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_keys WHERE response_body IS NULL", Integer.class));
+    }
+
+    private OrderResponseDto createOrder(OrderRequestDto orderRequestDto) {
+        return idempotencyService.execute("key-1", "createOrder", orderRequestDto, OrderResponseDto.class, () -> {
+            actionCalls.incrementAndGet();
+            return orderService.createOrder(orderRequestDto);
+        });
+    }
+
+    private OrderBulkResponseDto execute() {
+        return idempotencyService.execute("key-1", "createOrder", "request", OrderBulkResponseDto.class, () -> {
+            actionCalls.incrementAndGet();
+            return new OrderBulkResponseDto(1);
+        });
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
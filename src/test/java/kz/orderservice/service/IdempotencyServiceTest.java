@@ -0,0 +1,183 @@
+package kz.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderBulkResponseDto;
+import kz.orderservice.exception.IdempotencyKeyConflictException;
+import kz.orderservice.repository.IdempotencyKeyRecord;
+import kz.orderservice.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger actionCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, objectMapper, transactionTemplate, 100,
+                Duration.ofHours(24), Duration.ofMillis(200), LEASE);
+        Mockito.lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing execute runs the action without an idempotency key")
+    void testExecuteWithoutKey() {
+        OrderBulkResponseDto response = idempotencyService.execute(null, "createOrder", "request",
+                OrderBulkResponseDto.class, this::action);
+
+        assertEquals(1, response.getAffectedRows());
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    @DisplayName("Testing execute runs the action once and replays its response for the same key")
+    void testExecuteReplaysResponse() {
+        when(idempotencyKeyRepository.claim(eq("customer"), anyString(), anyString(), any(UUID.class), eq(LEASE)))
+                .thenReturn(true);
+        when(idempotencyKeyRepository.complete(eq("customer"), anyString(), any(UUID.class), anyString()))
+                .thenReturn(true);
+
+        OrderBulkResponseDto first = idempotencyService.execute("key-1", "createOrder", "request",
+                OrderBulkResponseDto.class, this::action);
+        OrderBulkResponseDto second = idempotencyService.execute("key-1", "createOrder", "request",
+                OrderBulkResponseDto.class, this::action);
+
+        assertEquals(first, second);
+        assertEquals(1, actionCalls.get());
+        verify(idempotencyKeyRepository, times(1)).claim(eq("customer"), anyString(), anyString(), any(UUID.class),
+                eq(LEASE));
+        verify(idempotencyKeyRepository, times(1)).complete(eq("customer"), anyString(), any(UUID.class),
+                eq("{\"affectedRows\":1}"));
+    }
+
+    @Test
+    @DisplayName("Testing execute when the key was used for another request")
+    void testExecuteWithReusedKey() {
+        when(idempotencyKeyRepository.claim(eq("customer"), anyString(), anyString(), any(UUID.class), eq(LEASE)))
+                .thenReturn(true);
+        when(idempotencyKeyRepository.complete(eq("customer"), anyString(), any(UUID.class), anyString()))
+                .thenReturn(true);
+        idempotencyService.execute("key-1", "createOrder", "request", OrderBulkResponseDto.class, this::action);
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> idempotencyService.execute("key-1",
+                "createOrder", "another request", OrderBulkResponseDto.class, this::action));
+
+        assertEquals(1, actionCalls.get());
+    }
+
+    @Test
+    @DisplayName("Testing execute releases the key when the action fails")
+    void testExecuteReleasesKeyOnFailure() {
+        when(idempotencyKeyRepository.claim(eq("customer"), anyString(), anyString(), any(UUID.class), eq(LEASE)))
+                .thenReturn(true);
+
+        assertThrows(QueryTimeoutException.class, () -> idempotencyService.execute("key-1", "createOrder",
+                "request", OrderBulkResponseDto.class, () -> {
+                    throw new QueryTimeoutException("timeout");
+                }));
+
+        verify(idempotencyKeyRepository, times(1)).release(eq("customer"), anyString(), any(UUID.class));
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Testing execute fails and runs the action again on retry when its claim was taken over")
+    void testExecuteWhenClaimWasTakenOver() {
+        when(idempotencyKeyRepository.claim(eq("customer"), anyString(), anyString(), any(UUID.class), eq(LEASE)))
+                .thenReturn(true);
+        when(idempotencyKeyRepository.complete(eq("customer"), anyString(), any(UUID.class), anyString()))
+                .thenReturn(false, true);
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> idempotencyService.execute("key-1",
+                "createOrder", "request", OrderBulkResponseDto.class, this::action));
+        idempotencyService.execute("key-1", "createOrder", "request", OrderBulkResponseDto.class, this::action);
+
+        assertEquals(2, actionCalls.get());
+        verify(idempotencyKeyRepository, times(1)).release(eq("customer"), anyString(), any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Testing execute replays the response stored by another node")
+    void testExecuteReplaysStoredResponse() throws Exception {
+        IdempotencyKeyRecord storedKey = storedKey("request", "{\"affectedRows\":5}");
+        when(idempotencyKeyRepository.claim(eq("customer"), anyString(), anyString(), any(UUID.class), eq(LEASE)))
+                .thenReturn(false);
+        when(idempotencyKeyRepository.find(eq("customer"), anyString())).thenReturn(Optional.of(storedKey));
+
+        OrderBulkResponseDto response = idempotencyService.execute("key-1", "createOrder", "request",
+                OrderBulkResponseDto.class, this::action);
+
+        assertEquals(5, response.getAffectedRows());
+        assertEquals(0, actionCalls.get());
+    }
+
+    @Test
+    @DisplayName("Testing execute tells the caller to retry when the key is still in progress on another node")
+    void testExecuteWhenKeyIsInProgress() throws Exception {
+        IdempotencyKeyRecord pendingKey = storedKey("request", null);
+        when(idempotencyKeyRepository.claim(eq("customer"), anyString(), anyString(), any(UUID.class), eq(LEASE)))
+                .thenReturn(false);
+        when(idempotencyKeyRepository.find(eq("customer"), anyString())).thenReturn(Optional.of(pendingKey));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> idempotencyService.execute("key-1",
+                "createOrder", "request", OrderBulkResponseDto.class, this::action));
+
+        assertEquals(0, actionCalls.get());
+    }
+
+    private OrderBulkResponseDto action() {
+        actionCalls.incrementAndGet();
+        return new OrderBulkResponseDto(1);
+    }
+
+    private IdempotencyKeyRecord storedKey(String request, String responseBody) throws Exception {
+        byte[] requestHash = MessageDigest.getInstance("SHA-256").digest(
+                ("createOrder:" + objectMapper.writeValueAsString(request)).getBytes(StandardCharsets.UTF_8));
+        return new IdempotencyKeyRecord(HexFormat.of().formatHex(requestHash), responseBody);
+    }
+}
@@ -0,0 +1,104 @@
+package kz.orderservice.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kz.orderservice.entity.user.Role;
+import kz.orderservice.entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtServiceTest {
+    private static final String SECRET_KEY = "5F1B7C4A8E0B5D1A22B1D8C1E4A4F3B5D6D3FAE7C8B9D4F2A1B6C3E5F7A8E9D1";
+
+    private JwtService jwtService;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionRegistry = mock(TokenVersionRegistry.class);
+        jwtService = new JwtService(SECRET_KEY, 86400000L, tokenVersionRegistry, new SimpleMeterRegistry());
+        user = User.builder()
+                .username("John")
+                .password("password")
+                .role(Role.ADMIN)
+                .tokenVersion(2)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Testing extractUserDetails builds the user from the claims of the token")
+    void testExtractUserDetails() {
+        when(tokenVersionRegistry.isCurrent("John", 2)).thenReturn(true);
+        String token = jwtService.generateToken(user);
+
+        UserDetails userDetails = jwtService.extractUserDetails(jwtService.parseToken(token));
+
+        assertNotNull(userDetails);
+        assertEquals("John", userDetails.getUsername());
+        assertEquals(Role.ADMIN.name(), userDetails.getAuthorities().iterator().next().getAuthority());
+        assertTrue(jwtService.isTokenValid(jwtService.parseToken(token), userDetails));
+    }
+
+    @Test
+    @DisplayName("Testing extractUserDetails when the token version is stale")
+    void testExtractUserDetailsWhenTokenIsStale() {
+        when(tokenVersionRegistry.isCurrent("John", 2)).thenReturn(false);
+        String token = jwtService.generateToken(user);
+
+        assertNull(jwtService.extractUserDetails(jwtService.parseToken(token)));
+    }
+
+    @Test
+    @DisplayName("Testing extractUserDetails when the token has no role claim")
+    void testExtractUserDetailsWhenRoleClaimIsMissing() {
+        String token = jwtService.generateToken(new HashMap<>(), user);
+
+        assertNull(jwtService.extractUserDetails(jwtService.parseToken(token)));
+    }
+
+    @Test
+    @DisplayName("Testing parseToken returns the verified claims of the token")
+    void testParseToken() {
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken verifiedToken = jwtService.parseToken(token);
+
+        assertEquals("John", verifiedToken.username());
+        assertEquals(Role.ADMIN.name(), verifiedToken.role());
+        assertEquals(2, verifiedToken.tokenVersion());
+        assertNotNull(verifiedToken.expiration());
+    }
+
+    @Test
+    @DisplayName("Testing parseToken when the token is signed with another key")
+    void testParseTokenWithInvalidSignature() {
+        String otherSecretKey = "6A2C8D5B9F1C6E2B33C2E9D2F5B5A4C6E7E4AB08D9CAE5A3B2C7D4F6A8B9F0E2";
+        String token = new JwtService(otherSecretKey, 86400000L, tokenVersionRegistry, new SimpleMeterRegistry())
+                .generateToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(token));
+    }
+
+    @Test
+    @DisplayName("Testing parseToken when the token is expired")
+    void testParseTokenWhenTokenIsExpired() {
+        String token = new JwtService(SECRET_KEY, -1000L, tokenVersionRegistry, new SimpleMeterRegistry())
+                .generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(token));
+    }
+}
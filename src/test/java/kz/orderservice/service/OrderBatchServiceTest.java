@@ -0,0 +1,159 @@
+package kz.orderservice.service;
+
+import jakarta.validation.Validation;
+import kz.orderservice.config.PricingProperties;
+import kz.orderservice.converter.OrderConverter;
+import kz.orderservice.converter.ProductConverter;
+import kz.orderservice.dto.order.OrderBatchItemStatus;
+import kz.orderservice.dto.order.OrderBatchResponseDto;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.entity.Order;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static kz.orderservice.OrderFixtures.productRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchServiceTest {
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OrderBatchService orderBatchService;
+    private MockedStatic<SecurityContextHolder> securityContextHolderMock;
+    private final String username = "username";
+
+    @BeforeEach
+    void setUp() {
+        orderBatchService = new OrderBatchService(
+                orderRepository,
+                new OrderConverter(new ProductConverter()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionTemplate,
+                new PricingEngine(new PricingProperties(0, List.of())));
+        ReflectionTestUtils.setField(orderBatchService, "chunkSize", 2);
+        ReflectionTestUtils.setField(orderBatchService, "maxSize", 10);
+
+        SecurityContext securityContextMock = Mockito.mock(SecurityContext.class);
+        Authentication authenticationMock = Mockito.mock(Authentication.class);
+        UserDetails userDetailsMock = Mockito.mock(UserDetails.class);
+        securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class);
+        securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+        when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+        when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+        when(userDetailsMock.getUsername()).thenReturn(username);
+        Mockito.lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        securityContextHolderMock.close();
+    }
+
+    @Test
+    @DisplayName("Testing createOrders reports invalid orders without failing the valid ones")
+    void testCreateOrdersWithInvalidOrders() {
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<OrderRequestDto> orderRequestDtos = List.of(
+                orderRequestDto("PENDING", productRequestDto("Laptop", 1500.0, 2)),
+                OrderRequestDto.builder().orderStatus("PENDING").products(List.of()).build(),
+                orderRequestDto("UNKNOWN", productRequestDto("Laptop", 1500.0, 2)));
+
+        OrderBatchResponseDto response = orderBatchService.createOrders(orderRequestDtos);
+
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(OrderBatchItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(username, response.getResults().get(0).getOrder().getCustomerName());
+        assertEquals(3000.0, response.getResults().get(0).getOrder().getTotalPrice());
+        assertEquals(OrderBatchItemStatus.FAILED, response.getResults().get(1).getStatus());
+        assertEquals("products: Products list should not be empty", response.getResults().get(1).getError());
+        assertEquals(OrderBatchItemStatus.FAILED, response.getResults().get(2).getStatus());
+        assertNotNull(response.getResults().get(2).getError());
+        verify(orderRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Testing createOrders saves valid orders in chunks")
+    void testCreateOrdersSavesInChunks() {
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<OrderRequestDto> orderRequestDtos = IntStream.range(0, 5)
+                .mapToObj(i -> orderRequestDto("PENDING", productRequestDto("Product " + i, 1500.0, 2)))
+                .toList();
+
+        OrderBatchResponseDto response = orderBatchService.createOrders(orderRequestDtos);
+
+        assertEquals(5, response.getCreated());
+        IntStream.range(0, 5).forEach(i -> assertEquals(i, response.getResults().get(i).getIndex()));
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(orderRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Testing createOrders retries a failed chunk one order at a time")
+    void testCreateOrdersRetriesFailedChunk() {
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            boolean broken = orders.stream()
+                    .anyMatch(order -> order.getProducts().get(0).getName().equals("Broken"));
+            if (broken) {
+                throw new DataIntegrityViolationException("constraint violation");
+            }
+            return orders;
+        });
+        List<OrderRequestDto> orderRequestDtos = List.of(
+                orderRequestDto("PENDING", productRequestDto("Laptop", 1500.0, 2)),
+                orderRequestDto("PENDING", productRequestDto("Broken", 1500.0, 2)));
+
+        OrderBatchResponseDto response = orderBatchService.createOrders(orderRequestDtos);
+
+        assertEquals(1, response.getCreated());
+        assertEquals(OrderBatchItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(OrderBatchItemStatus.FAILED, response.getResults().get(1).getStatus());
+        verify(orderRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Testing createOrders when the batch is too large")
+    void testCreateOrdersWhenBatchIsTooLarge() {
+        List<OrderRequestDto> orderRequestDtos = IntStream.range(0, 11)
+                .mapToObj(i -> orderRequestDto("PENDING", productRequestDto("Product " + i, 1500.0, 2)))
+                .toList();
+
+        assertThrows(BadRequestException.class, () -> orderBatchService.createOrders(orderRequestDtos));
+
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,68 @@
+package kz.orderservice.service;
+
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.dto.order.OrderBulkOperation;
+import kz.orderservice.dto.order.OrderBulkRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = "orders.bulk.chunk-size=7")
+class OrderBulkIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private OrderBulkService orderBulkService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders, order_daily_revenue, order_revenue_delta");
+        jdbcTemplate.update("""
+                INSERT INTO orders (customer_name, status, total_price, is_deleted)
+                SELECT 'customer', CASE WHEN i % 2 = 0 THEN 'PENDING' ELSE 'CANCELLED' END, i, false
+                FROM generate_series(1, 40) AS i
+                """);
+    }
+
+    @Test
+    @DisplayName("Testing bulk soft delete of the orders matching the filters")
+    void testSoftDeleteByFilter() {
+        int affectedRows = orderBulkService.applyBulkOperation(OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.SOFT_DELETE)
+                .status("PENDING")
+                .minPrice(11.0)
+                .build()).getAffectedRows();
+
+        assertEquals(15, affectedRows);
+        assertEquals(15, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE is_deleted = true", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE is_deleted = true AND (status <> 'PENDING' OR total_price < 11)",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("Testing bulk status change only applies allowed transitions")
+    void testChangeStatusByIds() {
+        List<Long> orderIds = jdbcTemplate.queryForList("SELECT order_id FROM orders", Long.class);
+
+        int affectedRows = orderBulkService.applyBulkOperation(OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.CHANGE_STATUS)
+                .orderStatus("CONFIRMED")
+                .orderIds(orderIds)
+                .build()).getAffectedRows();
+
+        assertEquals(20, affectedRows);
+        assertEquals(20, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status = 'CONFIRMED'", Integer.class));
+        assertEquals(20, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE status = 'CANCELLED'", Integer.class));
+    }
+}
@@ -0,0 +1,153 @@
+package kz.orderservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import kz.orderservice.dto.order.OrderBulkOperation;
+import kz.orderservice.dto.order.OrderBulkRequestDto;
+import kz.orderservice.dto.order.OrderBulkResponseDto;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.repository.OrderCursor;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.repository.OrderRepository;
+import kz.orderservice.repository.OrderSortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkServiceTest {
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private CacheManager cacheManager;
+
+    private OrderBulkService orderBulkService;
+    private CaffeineCache ordersCache;
+
+    @BeforeEach
+    void setUp() {
+        orderBulkService = new OrderBulkService(orderRepository, transactionTemplate, cacheManager);
+        ReflectionTestUtils.setField(orderBulkService, "chunkSize", 2);
+
+        ordersCache = new CaffeineCache("orders", Caffeine.newBuilder().build());
+        Mockito.lenient().when(cacheManager.getCache("orders")).thenReturn(ordersCache);
+        Mockito.lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation soft deletes orders selected by ids in chunks")
+    void testSoftDeleteByIds() {
+        List.of(1L, 2L, 3L, 4L).forEach(orderId -> ordersCache.put(orderId, new OrderResponseDto()));
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.SOFT_DELETE)
+                .orderIds(List.of(1L, 2L, 2L, 3L))
+                .build();
+        when(orderRepository.softDeleteAll(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(orderRepository.softDeleteAll(List.of(3L))).thenReturn(List.of());
+
+        OrderBulkResponseDto result = orderBulkService.applyBulkOperation(bulkRequestDto);
+
+        assertEquals(2, result.getAffectedRows());
+        verify(transactionTemplate, times(2)).execute(any());
+        assertNull(ordersCache.get(1L));
+        assertNull(ordersCache.get(2L));
+        assertNotNull(ordersCache.get(3L));
+        assertNotNull(ordersCache.get(4L));
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation changes the status of orders selected by filters page by page")
+    void testChangeStatusByFilter() {
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.CHANGE_STATUS)
+                .orderStatus("CANCELLED")
+                .status("PENDING")
+                .maxPrice(100.0)
+                .build();
+        OrderFilter filter = OrderFilter.of("PENDING", null, 100.0);
+        EnumSet<OrderStatus> sourceStatuses = EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        when(orderRepository.findPageIds(filter, OrderSortKey.ORDER_ID, null, 2)).thenReturn(List.of(5L, 7L));
+        when(orderRepository.findPageIds(filter, OrderSortKey.ORDER_ID,
+                new OrderCursor(OrderSortKey.ORDER_ID, null, 7L), 2)).thenReturn(List.of(9L));
+        when(orderRepository.updateStatusAll(List.of(5L, 7L), OrderStatus.CANCELLED, sourceStatuses))
+                .thenReturn(List.of(5L, 7L));
+        when(orderRepository.updateStatusAll(List.of(9L), OrderStatus.CANCELLED, sourceStatuses))
+                .thenReturn(List.of(9L));
+
+        OrderBulkResponseDto result = orderBulkService.applyBulkOperation(bulkRequestDto);
+
+        assertEquals(3, result.getAffectedRows());
+        verify(orderRepository, never()).softDeleteAll(any());
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation when orders are selected both by ids and by filters")
+    void testApplyBulkOperationWithIdsAndFilters() {
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.SOFT_DELETE)
+                .orderIds(List.of(1L))
+                .status("PENDING")
+                .build();
+
+        assertThrows(BadRequestException.class, () -> orderBulkService.applyBulkOperation(bulkRequestDto));
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation when no orders are selected")
+    void testApplyBulkOperationWithoutSelection() {
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.SOFT_DELETE)
+                .build();
+
+        assertThrows(BadRequestException.class, () -> orderBulkService.applyBulkOperation(bulkRequestDto));
+
+        verify(orderRepository, never()).findPageIds(any(), any(), any(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("Testing applyBulkOperation evicts the orders of committed chunks when a later chunk fails")
+    void testApplyBulkOperationEvictsCommittedChunksOnFailure() {
+        List.of(1L, 2L, 3L).forEach(orderId -> ordersCache.put(orderId, new OrderResponseDto()));
+        OrderBulkRequestDto bulkRequestDto = OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.SOFT_DELETE)
+                .orderIds(List.of(1L, 2L, 3L))
+                .build();
+        when(orderRepository.softDeleteAll(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(orderRepository.softDeleteAll(List.of(3L))).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> orderBulkService.applyBulkOperation(bulkRequestDto));
+
+        assertNull(ordersCache.get(1L));
+        assertNull(ordersCache.get(2L));
+        assertNotNull(ordersCache.get(3L));
+    }
+}
@@ -0,0 +1,180 @@
+package kz.orderservice.service;
+
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderBulkOperation;
+import kz.orderservice.dto.order.OrderBulkRequestDto;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.report.DailyRevenueReportDto;
+import kz.orderservice.entity.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static kz.orderservice.OrderFixtures.productRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderDailyRevenueIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderReportService orderReportService;
+    @Autowired
+    private OrderBulkService orderBulkService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders, order_daily_revenue, order_revenue_delta");
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing the rollup follows order creation, update and soft deletion")
+    void testRollupIsMaintainedIncrementally() {
+        OrderResponseDto first = orderService.createOrder(
+                orderRequestDto("PENDING", productRequestDto("Product", 100.0, 1)));
+        orderService.createOrder(orderRequestDto("PENDING", productRequestDto("Product", 50.0, 1)));
+        assertRollup(OrderStatus.PENDING, 2L, 150.0);
+
+        orderService.updateOrder(first.getOrderId(),
+                orderRequestDto("CONFIRMED", productRequestDto("Product", 120.0, 1)), null);
+        assertRollup(OrderStatus.PENDING, 1L, 50.0);
+        assertRollup(OrderStatus.CONFIRMED, 1L, 120.0);
+
+        orderService.softDeleteOrder(first.getOrderId());
+        DailyRevenueReportDto report = orderReportService.getDailyRevenue(today, today, null);
+        assertEquals(1L, report.getOrderCount());
+        assertEquals(50.0, report.getRevenue());
+    }
+
+    @Test
+    @DisplayName("Testing rebuildDailyRevenue recomputes the rollup from the orders")
+    void testRebuildDailyRevenue() {
+        orderService.createOrder(orderRequestDto("CONFIRMED", productRequestDto("Product", 70.0, 1)));
+        orderReportService.foldRevenueDeltas();
+        jdbcTemplate.update("UPDATE order_daily_revenue SET order_count = 99, revenue = 999");
+
+        orderReportService.rebuildDailyRevenue(today.minusDays(3), today);
+
+        assertRollup(OrderStatus.CONFIRMED, 1L, 70.0);
+    }
+
+    @Test
+    @DisplayName("Testing rebuildDailyRevenue neither waits for nor loses an order write in progress")
+    void testRebuildDuringOrderWrite() throws Exception {
+        orderService.createOrder(orderRequestDto("CONFIRMED", productRequestDto("Product", 70.0, 1)));
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    jdbcTemplate.update("""
+                            INSERT INTO orders (customer_name, status, total_price, is_deleted)
+                            VALUES ('customer', 'CONFIRMED', 30, false)
+                            """);
+                    written.countDown();
+                    try {
+                        rebuilt.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(written.await(30, TimeUnit.SECONDS));
+
+        try {
+            CompletableFuture.runAsync(() -> orderReportService.rebuildDailyRevenue(today.minusDays(3), today))
+                    .get(10, TimeUnit.SECONDS);
+        } finally {
+            rebuilt.countDown();
+        }
+        write.get(30, TimeUnit.SECONDS);
+
+        assertRollup(OrderStatus.CONFIRMED, 2L, 100.0);
+        orderReportService.foldRevenueDeltas();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_revenue_delta", Integer.class));
+        assertRollup(OrderStatus.CONFIRMED, 2L, 100.0);
+    }
+
+    @Test
+    @DisplayName("Testing parallel creates and a bulk status change keep the rollup exact without deadlocks")
+    void testRollupUnderConcurrentWrites() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO orders (customer_name, status, total_price, is_deleted)
+                SELECT 'customer', 'PENDING', 10, false
+                FROM generate_series(1, 2000)
+                """);
+        List<Long> seededOrderIds = jdbcTemplate.queryForList("SELECT order_id FROM orders", Long.class);
+
+        List<Callable<Object>> writes = new ArrayList<>();
+        for (int writer = 0; writer < 8; writer++) {
+            writes.add(() -> {
+                TestAuthentication.authenticate("customer");
+                for (int i = 0; i < 25; i++) {
+                    orderService.createOrder(orderRequestDto("PENDING", productRequestDto("Product", 20.0, 1)));
+                }
+                return null;
+            });
+        }
+        writes.add(() -> orderBulkService.applyBulkOperation(OrderBulkRequestDto.builder()
+                .operation(OrderBulkOperation.CHANGE_STATUS)
+                .orderStatus("CONFIRMED")
+                .orderIds(seededOrderIds)
+                .build()));
+        writes.add(() -> {
+            for (int i = 0; i < 20; i++) {
+                orderReportService.foldRevenueDeltas();
+            }
+            return null;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(writes.size());
+        try {
+            for (Future<Object> write : executor.invokeAll(writes, 2, TimeUnit.MINUTES)) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertRollup(OrderStatus.PENDING, 200L, 4000.0);
+        assertRollup(OrderStatus.CONFIRMED, 2000L, 20000.0);
+        orderReportService.foldRevenueDeltas();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_revenue_delta", Integer.class));
+        assertRollup(OrderStatus.PENDING, 200L, 4000.0);
+        assertRollup(OrderStatus.CONFIRMED, 2000L, 20000.0);
+    }
+
+    private void assertRollup(OrderStatus status, Long orderCount, Double revenue) {
+        DailyRevenueReportDto report = orderReportService.getDailyRevenue(today, today, status.name());
+        assertEquals(orderCount, report.getOrderCount());
+        assertEquals(revenue, report.getRevenue());
+    }
+}
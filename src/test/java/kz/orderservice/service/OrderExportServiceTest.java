@@ -0,0 +1,92 @@
+package kz.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kz.orderservice.converter.OrderConverter;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.repository.OrderFilter;
+import kz.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+    @InjectMocks
+    private OrderExportService orderExportService;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderConverter orderConverter;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int chunkSize = 2;
+    private final OrderFilter filter = new OrderFilter(OrderStatus.PENDING, null, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderExportService, "chunkSize", chunkSize);
+    }
+
+    @Test
+    @DisplayName("Testing exportOrders writes one JSON document per line for every chunk")
+    void testExportOrders() throws Exception {
+        Order firstOrder = Order.builder().orderId(1L).build();
+        Order secondOrder = Order.builder().orderId(2L).build();
+        Order thirdOrder = Order.builder().orderId(3L).build();
+        doAnswer(invocation -> {
+            Consumer<List<Order>> chunkConsumer = invocation.getArgument(2);
+            chunkConsumer.accept(List.of(firstOrder, secondOrder));
+            chunkConsumer.accept(List.of(thirdOrder));
+            return null;
+        }).when(orderRepository).scrollAll(eq(filter), eq(chunkSize), any());
+        when(orderConverter.entityToResponseDto(any(Order.class))).thenAnswer(invocation -> OrderResponseDto.builder()
+                .orderId(invocation.<Order>getArgument(0).getOrderId())
+                .status(OrderStatus.PENDING)
+                .build());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.exportOrders(filter, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            OrderResponseDto exportedOrder = objectMapper.readValue(lines.get(i), OrderResponseDto.class);
+            assertEquals(i + 1L, exportedOrder.getOrderId());
+            assertEquals(OrderStatus.PENDING, exportedOrder.getStatus());
+        }
+        verify(orderConverter, times(3)).entityToResponseDto(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Testing exportOrders writes nothing when no order matches")
+    void testExportOrdersWhenNothingMatches() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.exportOrders(filter, outputStream);
+
+        assertEquals(0, outputStream.size());
+        verify(orderRepository, times(1)).scrollAll(eq(filter), eq(chunkSize), any());
+    }
+}
@@ -0,0 +1,65 @@
+package kz.orderservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderResponseDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With IDENTITY ids every row was inserted on its own to read back its key, so an order with 20 products took
+ * 21 INSERT statements. With pooled sequences the same order is written as one order INSERT and one batch of
+ * product INSERTs.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBatchingIntegrationTest extends AbstractPostgresIntegrationTest {
+    private static final int PRODUCTS_PER_ORDER = 20;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing createOrder writes an order with 20 products in two insert statements")
+    void testCreateOrderBatchesProductInserts() {
+        statistics.clear();
+        OrderResponseDto order = orderService.createOrder(orderRequestDto(PRODUCTS_PER_ORDER));
+
+        // One INSERT for the order, one batch for the products, plus at most one nextval per sequence when
+        // the pooled optimizer runs out of preallocated ids.
+        assertEquals(PRODUCTS_PER_ORDER + 1, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Prepared statements: " + statistics.getPrepareStatementCount());
+        assertEquals(PRODUCTS_PER_ORDER, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE order_id = ?", Integer.class, order.getOrderId()));
+    }
+}
@@ -0,0 +1,104 @@
+package kz.orderservice.service;
+
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
+import kz.orderservice.exception.OrderVersionMismatchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static kz.orderservice.OrderFixtures.productRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderOptimisticLockingIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders, order_daily_revenue, order_revenue_delta");
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing a product-only change moves the order to a new version")
+    void testProductChangeIncrementsVersion() {
+        OrderResponseDto created = orderService.createOrder(
+                orderRequestDto("PENDING", productRequestDto("Laptop", 100.0, 1)));
+        Long productId = created.getProducts().get(0).getProductId();
+
+        OrderResponseDto updated = orderService.updateOrder(created.getOrderId(),
+                orderRequestDto("PENDING", productRequestDto(productId, "Renamed laptop", 100.0, 1)),
+                created.getVersion());
+
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+        assertEquals(updated.getVersion(), databaseVersion(created.getOrderId()));
+    }
+
+    @Test
+    @DisplayName("Testing a change to the order and its products moves the order to the next version only")
+    void testOrderAndProductChangeIncrementsVersionOnce() {
+        OrderResponseDto created = orderService.createOrder(
+                orderRequestDto("PENDING", productRequestDto("Laptop", 100.0, 1)));
+        Long productId = created.getProducts().get(0).getProductId();
+
+        OrderResponseDto updated = orderService.updateOrder(created.getOrderId(),
+                orderRequestDto("CONFIRMED", productRequestDto(productId, "Renamed laptop", 100.0, 1)),
+                created.getVersion());
+
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+        assertEquals(updated.getVersion(), databaseVersion(created.getOrderId()));
+    }
+
+    @Test
+    @DisplayName("Testing a write with a stale version is rejected and changes nothing")
+    void testStaleVersionIsRejected() {
+        OrderResponseDto created = orderService.createOrder(
+                orderRequestDto("PENDING", productRequestDto("Laptop", 100.0, 1)));
+        Long productId = created.getProducts().get(0).getProductId();
+        orderService.updateOrder(created.getOrderId(),
+                orderRequestDto("PENDING", productRequestDto(productId, "First edit", 100.0, 1)), null);
+
+        assertThrows(OrderVersionMismatchException.class, () -> orderService.updateOrder(created.getOrderId(),
+                orderRequestDto("PENDING", productRequestDto(productId, "Lost edit", 100.0, 1)),
+                created.getVersion()));
+        assertThrows(OrderVersionMismatchException.class, () -> orderService.updateOrderStatus(created.getOrderId(),
+                new OrderStatusUpdateRequestDto("CONFIRMED"), created.getVersion()));
+
+        assertEquals("First edit", jdbcTemplate.queryForObject(
+                "SELECT name FROM products WHERE product_id = ?", String.class, productId));
+        assertEquals("PENDING", jdbcTemplate.queryForObject(
+                "SELECT status FROM orders WHERE order_id = ?", String.class, created.getOrderId()));
+    }
+
+    @Test
+    @DisplayName("Testing a status change with the current version returns the next version")
+    void testStatusChangeWithCurrentVersion() {
+        OrderResponseDto created = orderService.createOrder(
+                orderRequestDto("PENDING", productRequestDto("Laptop", 100.0, 1)));
+
+        Long version = orderService.updateOrderStatus(created.getOrderId(),
+                new OrderStatusUpdateRequestDto("CONFIRMED"), created.getVersion()).getVersion();
+
+        assertEquals(created.getVersion() + 1, version);
+        assertEquals(version, databaseVersion(created.getOrderId()));
+    }
+
+    private Long databaseVersion(Long orderId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM orders WHERE order_id = ?", Long.class, orderId);
+    }
+}
@@ -0,0 +1,67 @@
+package kz.orderservice.service;
+
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.converter.OrderConverter;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.product.ProductRequestDto;
+import kz.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderReactiveLookupIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderReactiveLookupService orderReactiveLookupService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderConverter orderConverter;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders, order_daily_revenue, order_revenue_delta");
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing the R2DBC read returns the same order as the JPA read")
+    void testReactiveReadMatchesJpaRead() {
+        Long orderId = orderService.createOrder(OrderRequestDto.builder()
+                .orderStatus("PENDING")
+                .products(List.of(
+                        ProductRequestDto.builder().name("Laptop").price(1500.0).quantity(1).build(),
+                        ProductRequestDto.builder().name("Mouse").price(25.5).quantity(2).build()))
+                .build()).getOrderId();
+        cacheManager.getCache("orders").clear();
+
+        OrderResponseDto reactiveOrder = orderReactiveLookupService.getOrderById(orderId).block();
+        OrderResponseDto jpaOrder = transactionTemplate.execute(transactionStatus -> orderConverter
+                .entityToResponseDto(orderRepository.findByOrderIdAndIsDeletedFalse(orderId).orElseThrow()));
+
+        assertEquals(jpaOrder, reactiveOrder);
+    }
+}
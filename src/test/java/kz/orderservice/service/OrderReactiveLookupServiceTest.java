@@ -0,0 +1,139 @@
+package kz.orderservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.repository.OrderReactiveRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderReactiveLookupServiceTest {
+    private OrderReactiveLookupService orderReactiveLookupService;
+    @Mock
+    private OrderReactiveRepository orderReactiveRepository;
+    @Mock
+    private CacheManager cacheManager;
+
+    private CaffeineCache ordersCache;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderResponseDto orderResponseDto;
+    private final long orderId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        ordersCache = new CaffeineCache("orders", Caffeine.newBuilder().build());
+        when(cacheManager.getCache("orders")).thenReturn(ordersCache);
+        meterRegistry = new SimpleMeterRegistry();
+        orderReactiveLookupService = new OrderReactiveLookupService(orderReactiveRepository, cacheManager,
+                meterRegistry);
+        orderResponseDto = OrderResponseDto.builder()
+                .orderId(orderId)
+                .customerName("customer")
+                .version(0L)
+                .build();
+        TestAuthentication.authenticate("customer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestAuthentication.clear();
+    }
+
+    @Test
+    @DisplayName("Testing getOrderById reads the order over R2DBC and caches it")
+    void testGetOrderById() {
+        when(orderReactiveRepository.findActiveOrder(orderId)).thenReturn(Mono.just(orderResponseDto));
+
+        OrderResponseDto result = orderReactiveLookupService.getOrderById(orderId).block();
+
+        assertEquals(orderResponseDto, result);
+        assertEquals(orderResponseDto, ordersCache.get(orderId, OrderResponseDto.class));
+    }
+
+    @Test
+    @DisplayName("Testing getOrderById does not replace an order cached by a write during the read")
+    void testGetOrderByIdKeepsNewerCachedOrder() {
+        OrderResponseDto updatedOrderResponseDto = OrderResponseDto.builder()
+                .orderId(orderId)
+                .customerName("customer")
+                .version(1L)
+                .build();
+        when(orderReactiveRepository.findActiveOrder(orderId)).thenReturn(Mono.fromSupplier(() -> {
+            ordersCache.put(orderId, updatedOrderResponseDto);
+            return orderResponseDto;
+        }));
+
+        orderReactiveLookupService.getOrderById(orderId).block();
+
+        assertEquals(updatedOrderResponseDto, ordersCache.get(orderId, OrderResponseDto.class));
+    }
+
+    @Test
+    @DisplayName("Testing getOrderById serves a cached order without reading it")
+    void testGetOrderByIdFromCache() {
+        ordersCache.put(orderId, orderResponseDto);
+
+        OrderResponseDto result = orderReactiveLookupService.getOrderById(orderId).block();
+
+        assertEquals(orderResponseDto, result);
+        verify(orderReactiveRepository, never()).findActiveOrder(orderId);
+    }
+
+    @Test
+    @DisplayName("Testing getOrderById method when order is not found")
+    void testGetOrderByIdWhenOrderIsNotFound() {
+        when(orderReactiveRepository.findActiveOrder(orderId)).thenReturn(Mono.empty());
+
+        Mono<OrderResponseDto> result = orderReactiveLookupService.getOrderById(orderId);
+
+        assertThrows(EntityNotFoundException.class, result::block);
+        verify(orderReactiveRepository, times(1)).findActiveOrder(orderId);
+    }
+
+    @Test
+    @DisplayName("Testing getOrderById times each lookup by how it ended")
+    void testGetOrderByIdRecordsLookupTimer() {
+        when(orderReactiveRepository.findActiveOrder(orderId)).thenReturn(Mono.just(orderResponseDto), Mono.empty());
+
+        orderReactiveLookupService.getOrderById(orderId).block();
+        ordersCache.clear();
+        assertThrows(EntityNotFoundException.class, orderReactiveLookupService.getOrderById(orderId)::block);
+
+        assertEquals(1, meterRegistry.get("orders.reactive.lookup.flow.duration")
+                .tag("status", "completed")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("orders.reactive.lookup.flow.duration")
+                .tag("status", "error")
+                .tag("exception", EntityNotFoundException.class.getName())
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Testing getOrderById method when order does not belong to requester")
+    void testGetOrderByIdWhenOrderDoesNotBelongToRequester() {
+        orderResponseDto.setCustomerName("realOwner");
+        when(orderReactiveRepository.findActiveOrder(orderId)).thenReturn(Mono.just(orderResponseDto));
+
+        Mono<OrderResponseDto> result = orderReactiveLookupService.getOrderById(orderId);
+
+        assertThrows(IllegalArgumentException.class, result::block);
+    }
+}
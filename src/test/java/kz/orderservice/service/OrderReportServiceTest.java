@@ -0,0 +1,130 @@
+package kz.orderservice.service;
+
+import kz.orderservice.dto.report.DailyRevenueRebuildResponseDto;
+import kz.orderservice.dto.report.DailyRevenueReportDto;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.repository.DailyRevenueRow;
+import kz.orderservice.repository.OrderDailyRevenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderReportServiceTest {
+    @InjectMocks
+    private OrderReportService orderReportService;
+    @Mock
+    private OrderDailyRevenueRepository orderDailyRevenueRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 10);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderReportService, "rebuildChunkDays", 4);
+        ReflectionTestUtils.setField(orderReportService, "foldBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Testing getDailyRevenue sums the rows of the rollup")
+    void testGetDailyRevenue() {
+        when(orderDailyRevenueRepository.findDays(from, to, "CONFIRMED")).thenReturn(List.of(
+                dailyRevenue(from, 2L, 300.0),
+                dailyRevenue(from.plusDays(1), 1L, 50.0)));
+
+        DailyRevenueReportDto result = orderReportService.getDailyRevenue(from, to, "CONFIRMED");
+
+        assertEquals(3L, result.getOrderCount());
+        assertEquals(350.0, result.getRevenue());
+        assertEquals(2, result.getDays().size());
+        assertEquals(from, result.getDays().get(0).getDay());
+        assertEquals(OrderStatus.CONFIRMED, result.getDays().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Testing getDailyRevenue when the range is reversed")
+    void testGetDailyRevenueWithReversedRange() {
+        assertThrows(BadRequestException.class, () -> orderReportService.getDailyRevenue(to, from, null));
+
+        verify(orderDailyRevenueRepository, never()).findDays(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Testing rebuildDailyRevenue rebuilds the range in chunks of days")
+    void testRebuildDailyRevenueInChunks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(orderDailyRevenueRepository.rebuildDays(any(LocalDate.class), any(LocalDate.class), any(Instant.class),
+                any(Instant.class))).thenReturn(2);
+
+        DailyRevenueRebuildResponseDto result = orderReportService.rebuildDailyRevenue(from, to);
+
+        assertEquals(6, result.getRows());
+        verify(orderDailyRevenueRepository, times(3)).lockRollupForRebuild();
+        verify(orderDailyRevenueRepository, times(1)).rebuildDays(from, from.plusDays(3),
+                Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2025-01-05T00:00:00Z"));
+        verify(orderDailyRevenueRepository, times(1)).rebuildDays(from.plusDays(4), from.plusDays(7),
+                Instant.parse("2025-01-05T00:00:00Z"), Instant.parse("2025-01-09T00:00:00Z"));
+        verify(orderDailyRevenueRepository, times(1)).rebuildDays(from.plusDays(8), to,
+                Instant.parse("2025-01-09T00:00:00Z"), Instant.parse("2025-01-11T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Testing foldRevenueDeltas folds batches until no deltas are left")
+    void testFoldRevenueDeltas() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(orderDailyRevenueRepository.foldDeltas(100)).thenReturn(3, 1, 0);
+
+        orderReportService.foldRevenueDeltas();
+
+        verify(orderDailyRevenueRepository, times(3)).lockRollupForFold();
+        verify(orderDailyRevenueRepository, times(3)).foldDeltas(100);
+    }
+
+    private DailyRevenueRow dailyRevenue(LocalDate day, Long orderCount, Double revenue) {
+        return new DailyRevenueRow() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public String getStatus() {
+                return OrderStatus.CONFIRMED.name();
+            }
+
+            @Override
+            public Long getOrderCount() {
+                return orderCount;
+            }
+
+            @Override
+            public Double getRevenue() {
+                return revenue;
+            }
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package kz.orderservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import kz.orderservice.AbstractPostgresIntegrationTest;
+import kz.orderservice.StatementCounter;
+import kz.orderservice.TestAuthentication;
+import kz.orderservice.dto.order.OrderPageResponseDto;
+import kz.orderservice.dto.order.OrderRequestDto;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
+import kz.orderservice.dto.product.ProductRequestDto;
+import kz.orderservice.entity.Order;
+import kz.orderservice.entity.OrderStatus;
+import kz.orderservice.entity.Product;
+import kz.orderservice.exception.OrderStatusConflictException;
+import kz.orderservice.repository.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static kz.orderservice.OrderFixtures.orderRequestDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderServiceQueryCountIntegrationTest extends AbstractPostgresIntegrationTest {
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE products, orders");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters issues the same number of statements for small and large pages")
+    void testGetOrdersWithFiltersStatementCountDoesNotGrowWithPageSize() throws Exception {
+        seedOrders(60, 3);
+
+        long smallPageStatements = StatementCounter.count(() -> getPage(5));
+        long largePageStatements = StatementCounter.count(() -> getPage(50));
+
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters loads the products of every order of the page")
+    void testGetOrdersWithFiltersLoadsProducts() {
+        seedOrders(10, 4);
+
+        OrderPageResponseDto page = orderService.getOrdersWithFilters(null, null, null, null, null, 10);
+
+        assertEquals(10, page.getOrders().size());
+        page.getOrders().forEach(order -> assertEquals(4, order.getProducts().size()));
+    }
+
+    @Test
+    @DisplayName("Testing updateOrder writes only the products that changed")
+    void testUpdateOrderWritesOnlyChangedProducts() {
+        seedOrders(1, 20);
+        Long orderId = jdbcTemplate.queryForObject("SELECT order_id FROM orders", Long.class);
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM products ORDER BY product_id", Long.class);
+        List<ProductRequestDto> products = new ArrayList<>();
+        for (int i = 0; i < productIds.size() - 1; i++) {
+            products.add(ProductRequestDto.builder()
+                    .productId(productIds.get(i))
+                    .name("Product " + i)
+                    .price(i == 0 ? 25.0 : 10.0)
+                    .quantity(1)
+                    .build());
+        }
+        products.add(ProductRequestDto.builder().name("New product").price(10.0).quantity(1).build());
+        TestAuthentication.authenticate("customer");
+
+        try {
+            statistics.clear();
+            orderService.updateOrder(orderId, OrderRequestDto.builder()
+                    .orderStatus("PENDING")
+                    .products(products)
+                    .build(), null);
+        } finally {
+            TestAuthentication.clear();
+        }
+
+        assertEquals(2, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        assertEquals(215.0, jdbcTemplate.queryForObject(
+                "SELECT total_price FROM orders WHERE order_id = ?", Double.class, orderId));
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus changes the status with a single statement")
+    void testUpdateOrderStatusIssuesSingleStatement() throws Exception {
+        seedOrders(1, 20);
+        Long orderId = jdbcTemplate.queryForObject("SELECT order_id FROM orders", Long.class);
+        TestAuthentication.authenticate("customer");
+
+        try {
+            StatementCounter.assertAtMost(1, "updateOrderStatus", () -> orderService.updateOrderStatus(orderId,
+                    new OrderStatusUpdateRequestDto("CONFIRMED"), null));
+            assertThrows(OrderStatusConflictException.class,
+                    () -> orderService.updateOrderStatus(orderId, new OrderStatusUpdateRequestDto("PENDING"), null));
+        } finally {
+            TestAuthentication.clear();
+        }
+
+        assertEquals("CONFIRMED", jdbcTemplate.queryForObject(
+                "SELECT status FROM orders WHERE order_id = ?", String.class, orderId));
+    }
+
+    @Test
+    @DisplayName("Testing createOrder stays within its statement budget regardless of the number of products")
+    void testCreateOrderStatementBudget() throws Exception {
+        TestAuthentication.authenticate("customer");
+
+        try {
+            orderService.createOrder(orderRequestDto(1));
+            // one insert of the order, one batch of products and at most one refill of each id sequence
+            StatementCounter.assertAtMost(4, "createOrder with 1 product",
+                    () -> orderService.createOrder(orderRequestDto(1)));
+            StatementCounter.assertAtMost(4, "createOrder with 30 products",
+                    () -> orderService.createOrder(orderRequestDto(30)));
+        } finally {
+            TestAuthentication.clear();
+        }
+    }
+
+    private OrderPageResponseDto getPage(int pageSize) {
+        OrderPageResponseDto page = orderService.getOrdersWithFilters(null, null, null, null, null, pageSize);
+        assertEquals(pageSize, page.getOrders().size());
+        return page;
+    }
+
+    private void seedOrders(int orderCount, int productsPerOrder) {
+        List<Order> orders = IntStream.range(0, orderCount)
+                .mapToObj(i -> Order.builder()
+                        .customerName("customer")
+                        .status(OrderStatus.PENDING)
+                        .totalPrice(BigDecimal.valueOf(10L * productsPerOrder, 0))
+                        .isDeleted(false)
+                        .products(new ArrayList<>(IntStream.range(0, productsPerOrder)
+                                .mapToObj(j -> Product.builder()
+                                        .name("Product " + j)
+                                        .price(10.0)
+                                        .quantity(1)
+                                        .build())
+                                .toList()))
+                        .build())
+                .toList();
+        orderRepository.saveAll(orders);
+    }
+}
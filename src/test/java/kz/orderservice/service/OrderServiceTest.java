@@ -1,41 +1,70 @@
 package kz.orderservice.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import kz.orderservice.config.PricingProperties;
 import kz.orderservice.converter.OrderConverter;
 import kz.orderservice.converter.ProductConverter;
+import kz.orderservice.dto.order.OrderPageResponseDto;
+import kz.orderservice.dto.order.OrderProductsPatchRequestDto;
 import kz.orderservice.dto.order.OrderRequestDto;
 import kz.orderservice.dto.order.OrderResponseDto;
+import kz.orderservice.dto.order.OrderStatsResponseDto;
+import kz.orderservice.dto.order.OrderStatusResponseDto;
+import kz.orderservice.dto.order.OrderStatusStatsDto;
+import kz.orderservice.dto.order.OrderStatusUpdateRequestDto;
 import kz.orderservice.dto.product.ProductRequestDto;
 import kz.orderservice.dto.product.ProductResponseDto;
 import kz.orderservice.entity.Order;
 import kz.orderservice.entity.OrderStatus;
 import kz.orderservice.entity.Product;
+import kz.orderservice.exception.BadRequestException;
+import kz.orderservice.exception.OrderStatusConflictException;
+import kz.orderservice.exception.OrderVersionMismatchException;
+import kz.orderservice.repository.OrderCursor;
+import kz.orderservice.repository.OrderFilter;
 import kz.orderservice.repository.OrderRepository;
+import kz.orderservice.repository.OrderSortKey;
+import kz.orderservice.repository.OrderState;
+import kz.orderservice.repository.OrderStatusStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,6 +79,17 @@ class OrderServiceTest {
     private OrderConverter orderConverter;
     @Mock
     private ProductConverter productConverter;
+    @Spy
+    private PricingEngine pricingEngine = new PricingEngine(new PricingProperties(0, List.of()));
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache cache;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private OptimisticRetryExecutor optimisticRetryExecutor = new OptimisticRetryExecutor(meterRegistry, 3);
 
     private Order order;
     private Product updatedProduct;
@@ -95,6 +135,7 @@ class OrderServiceTest {
 
         orderResponseDto = OrderResponseDto.builder()
                 .orderId(orderId)
+                .customerName(username)
                 .status(OrderStatus.fromString(orderStatus))
                 .totalPrice(orderTotalPrice)
                 .products(List.of(productResponseDto))
@@ -134,6 +175,8 @@ class OrderServiceTest {
         securityContextMock = Mockito.mock(SecurityContext.class);
         authenticationMock = Mockito.mock(Authentication.class);
         userDetailsMock = Mockito.mock(UserDetails.class);
+        Mockito.lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -159,7 +202,7 @@ class OrderServiceTest {
             verify(orderConverter, times(1)).entityToResponseDto(order);
 
             assertEquals(username, order.getCustomerName());
-            assertEquals(orderTotalPrice, order.getTotalPrice());
+            assertEquals(orderTotalPrice, order.getTotalPrice().doubleValue());
             assertFalse(order.getIsDeleted());
         }
     }
@@ -167,7 +210,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("Testing updateOrder method for successful execution")
     void testUpdateOrder() {
-        when(orderRepository.findByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
         when(orderRepository.save(order)).thenReturn(order);
         when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
         when(productConverter.requestDtoToEntity(productRequestDto)).thenReturn(updatedProduct);
@@ -178,71 +221,349 @@ class OrderServiceTest {
             when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
             when(userDetailsMock.getUsername()).thenReturn(username);
 
-            orderService.updateOrder(orderId, updatedOrderRequestDto);
+            orderService.updateOrder(orderId, updatedOrderRequestDto, null);
 
-            verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
+            verify(orderRepository, times(1)).findForWriteByOrderIdAndIsDeletedFalse(orderId);
             verify(orderRepository, times(1)).save(order);
             verify(orderConverter, times(1)).entityToResponseDto(order);
 
             assertEquals(orderUpdatedStatus, order.getStatus().toString());
-            assertEquals(updatedTotalPrice, order.getTotalPrice());
+            assertEquals(updatedTotalPrice, order.getTotalPrice().doubleValue());
         }
     }
 
     @Test
-    @DisplayName("Testing updateOrder method when order is not found")
-    void testUpdateOrderWhenOrderIsNotFound() {
-        when(orderRepository.findByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.empty());
+    @DisplayName("Testing updateOrder method updates listed products in place and deletes the others")
+    void testUpdateOrderAppliesProductDiff() {
+        Product keptProduct = order.getProducts().get(0);
+        order.getProducts().add(Product.builder().productId(2L).name("Removed").price(10.0).quantity(1).build());
+        ProductRequestDto keptProductRequestDto = ProductRequestDto.builder()
+                .productId(keptProduct.getProductId())
+                .name(keptProduct.getName())
+                .price(2000.0)
+                .quantity(1)
+                .build();
+        OrderRequestDto diffOrderRequestDto = OrderRequestDto.builder()
+                .orderStatus(orderUpdatedStatus)
+                .products(List.of(keptProductRequestDto))
+                .build();
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.save(order)).thenReturn(order);
+        when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
+        doCallRealMethod().when(productConverter).updateEntity(keptProduct, keptProductRequestDto);
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
 
-        assertThrows(EntityNotFoundException.class, () -> orderService.updateOrder(orderId, updatedOrderRequestDto));
+            orderService.updateOrder(orderId, diffOrderRequestDto, null);
 
-        verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
+            verify(productConverter, never()).requestDtoToEntity(any());
+            assertEquals(List.of(keptProduct), order.getProducts());
+            assertEquals(2000.0, keptProduct.getPrice());
+            assertEquals(1, keptProduct.getQuantity());
+            assertEquals(updatedTotalPrice, order.getTotalPrice().doubleValue());
+        }
     }
 
     @Test
-    @DisplayName("Testing updateOrder method when order does not belong to requester")
-    void testUpdateOrderWhenOrderDoesNotBelongToRequester() {
-        String realOrderOwner = "realOwner";
-        when(orderRepository.findByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+    @DisplayName("Testing updateOrder method when a product does not belong to the order")
+    void testUpdateOrderWhenProductIsNotFound() {
+        productRequestDto.setProductId(99L);
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
 
         try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
             when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
             when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
-            when(userDetailsMock.getUsername()).thenReturn(realOrderOwner);
+            when(userDetailsMock.getUsername()).thenReturn(username);
 
-            assertThrows(IllegalArgumentException.class, () -> orderService.updateOrder(orderId, updatedOrderRequestDto));
+            assertThrows(IllegalArgumentException.class, () -> orderService.updateOrder(orderId, updatedOrderRequestDto, null));
 
-            verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
+            verify(orderRepository, never()).save(any());
         }
     }
 
     @Test
-    @DisplayName("Testing getOrdersWithFilters with status, minPrice and maxPrice filters")
-    void testGetOrdersWithFilters() {
-        String status = "PENDING";
-        Double minPrice = 1000.0;
-        Double maxPrice = 5000.0;
-
-        when(orderRepository.findAll(any(Specification.class))).thenReturn(List.of(order));
+    @DisplayName("Testing patchOrderProducts method for successful execution")
+    void testPatchOrderProducts() {
+        Product keptProduct = order.getProducts().get(0);
+        order.getProducts().add(Product.builder().productId(2L).name("Removed").price(10.0).quantity(1).build());
+        Product addedProduct = Product.builder().name("Added").price(500.0).quantity(2).build();
+        OrderProductsPatchRequestDto patchRequestDto = OrderProductsPatchRequestDto.builder()
+                .products(List.of(productRequestDto))
+                .removedProductIds(List.of(2L))
+                .build();
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.save(order)).thenReturn(order);
         when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
+        when(productConverter.requestDtoToEntity(productRequestDto)).thenReturn(addedProduct);
 
-        List<OrderResponseDto> result = orderService.getOrdersWithFilters(status, minPrice, maxPrice);
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertTrue(result.stream().allMatch(order -> order.getStatus().toString().equals(status)));
-        assertTrue(result.stream().allMatch(order -> order.getTotalPrice() >= minPrice));
-        assertTrue(result.stream().allMatch(order -> order.getTotalPrice() <= maxPrice));
+            orderService.patchOrderProducts(orderId, patchRequestDto, null);
 
-        verify(orderRepository, times(1)).findAll(any(Specification.class));
+            verify(orderRepository, times(1)).save(order);
+            assertEquals(List.of(keptProduct, addedProduct), order.getProducts());
+            assertEquals(orderTotalPrice + 1000.0, order.getTotalPrice().doubleValue());
+            assertEquals(OrderStatus.PENDING, order.getStatus());
+        }
     }
 
     @Test
-    @DisplayName("Testing getOrderById method for successful execution")
-    void testGetOrderById() {
-        when(orderRepository.findByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+    @DisplayName("Testing patchOrderProducts method when a removed product does not belong to the order")
+    void testPatchOrderProductsWhenRemovedProductIsNotFound() {
+        OrderProductsPatchRequestDto patchRequestDto = OrderProductsPatchRequestDto.builder()
+                .removedProductIds(List.of(99L))
+                .build();
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> orderService.patchOrderProducts(orderId, patchRequestDto, null));
+
+            assertEquals(1, order.getProducts().size());
+            verify(orderRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing patchOrderProducts method when a product is listed more than once")
+    void testPatchOrderProductsWithDuplicateProduct() {
+        Long productId = order.getProducts().get(0).getProductId();
+        productRequestDto.setProductId(productId);
+        OrderProductsPatchRequestDto patchRequestDto = OrderProductsPatchRequestDto.builder()
+                .products(List.of(productRequestDto, productRequestDto))
+                .build();
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(BadRequestException.class,
+                    () -> orderService.patchOrderProducts(orderId, patchRequestDto, null));
+
+            verify(orderRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing patchOrderProducts method when every product would be removed")
+    void testPatchOrderProductsWhenNoProductIsLeft() {
+        OrderProductsPatchRequestDto patchRequestDto = OrderProductsPatchRequestDto.builder()
+                .removedProductIds(List.of(order.getProducts().get(0).getProductId()))
+                .build();
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(BadRequestException.class,
+                    () -> orderService.patchOrderProducts(orderId, patchRequestDto, null));
+
+            verify(orderRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method updates the cached order in place")
+    void testUpdateOrderStatus() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto(orderUpdatedStatus);
+        orderResponseDto.setVersion(3L);
+        when(orderRepository.updateStatus(orderId, username, OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PENDING), null))
+                .thenReturn(4L);
+        when(cacheManager.getCache("orders")).thenReturn(cache);
+        when(cache.get(orderId, OrderResponseDto.class)).thenReturn(orderResponseDto);
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            OrderStatusResponseDto result = orderService.updateOrderStatus(orderId, statusRequestDto, null);
+
+            assertEquals(orderId, result.getOrderId());
+            assertEquals(OrderStatus.CONFIRMED, result.getStatus());
+            assertEquals(4L, result.getVersion());
+            ArgumentCaptor<OrderResponseDto> cachedOrderCaptor = ArgumentCaptor.forClass(OrderResponseDto.class);
+            verify(cache, times(1)).put(eq(orderId), cachedOrderCaptor.capture());
+            assertEquals(OrderStatus.CONFIRMED, cachedOrderCaptor.getValue().getStatus());
+            assertEquals(4L, cachedOrderCaptor.getValue().getVersion());
+            assertEquals(orderResponseDto.getProducts(), cachedOrderCaptor.getValue().getProducts());
+            assertEquals(OrderStatus.PENDING, orderResponseDto.getStatus());
+            verify(orderRepository, never()).findByOrderIdAndIsDeletedFalse(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method evicts a cached order with a stale version")
+    void testUpdateOrderStatusEvictsStaleCachedOrder() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto(orderUpdatedStatus);
+        orderResponseDto.setVersion(1L);
+        when(orderRepository.updateStatus(orderId, username, OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PENDING), null))
+                .thenReturn(4L);
+        when(cacheManager.getCache("orders")).thenReturn(cache);
+        when(cache.get(orderId, OrderResponseDto.class)).thenReturn(orderResponseDto);
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            orderService.updateOrderStatus(orderId, statusRequestDto, null);
+
+            verify(cache, times(1)).evict(orderId);
+            verify(cache, never()).put(any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method when the expected version is stale")
+    void testUpdateOrderStatusWhenVersionDoesNotMatch() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto(orderUpdatedStatus);
+        when(orderRepository.updateStatus(orderId, username, OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PENDING), 2L))
+                .thenReturn(null);
+        when(orderRepository.findState(orderId, username)).thenReturn(Optional.of(orderState("PENDING", 3L)));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(OrderVersionMismatchException.class,
+                    () -> orderService.updateOrderStatus(orderId, statusRequestDto, 2L));
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method when the order is not cached")
+    void testUpdateOrderStatusWhenOrderIsNotCached() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto("CANCELLED");
+        when(orderRepository.updateStatus(orderId, username, OrderStatus.CANCELLED,
+                EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), null)).thenReturn(4L);
+        when(cacheManager.getCache("orders")).thenReturn(cache);
+        when(cache.get(orderId, OrderResponseDto.class)).thenReturn(null);
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            orderService.updateOrderStatus(orderId, statusRequestDto, null);
+
+            verify(cache, never()).put(any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method when the transition is not allowed")
+    void testUpdateOrderStatusWhenTransitionIsNotAllowed() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto(orderUpdatedStatus);
+        when(orderRepository.updateStatus(orderId, username, OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PENDING), null))
+                .thenReturn(null);
+        when(orderRepository.findState(orderId, username)).thenReturn(Optional.of(orderState("CANCELLED", 3L)));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(OrderStatusConflictException.class,
+                    () -> orderService.updateOrderStatus(orderId, statusRequestDto, null));
+
+            verify(cacheManager, never()).getCache(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method when order is not found")
+    void testUpdateOrderStatusWhenOrderIsNotFound() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto(orderUpdatedStatus);
+        when(orderRepository.updateStatus(orderId, username, OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PENDING), null))
+                .thenReturn(null);
+        when(orderRepository.findState(orderId, username)).thenReturn(Optional.empty());
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(EntityNotFoundException.class,
+                    () -> orderService.updateOrderStatus(orderId, statusRequestDto, null));
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrderStatus method does not run an update for a status with no allowed source")
+    void testUpdateOrderStatusToPending() {
+        OrderStatusUpdateRequestDto statusRequestDto = new OrderStatusUpdateRequestDto("PENDING");
+        when(orderRepository.findState(orderId, username)).thenReturn(Optional.of(orderState("CONFIRMED", 3L)));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(OrderStatusConflictException.class,
+                    () -> orderService.updateOrderStatus(orderId, statusRequestDto, null));
+
+            verify(transactionTemplate, never()).execute(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrder method when If-Match does not match the version of the order")
+    void testUpdateOrderWhenVersionDoesNotMatch() {
+        order.setVersion(3L);
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
+
+            assertThrows(OrderVersionMismatchException.class,
+                    () -> orderService.updateOrder(orderId, updatedOrderRequestDto, 2L));
+
+            verify(orderRepository, never()).save(any());
+            assertEquals(OrderStatus.PENDING, order.getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrder method retries a write that lost an optimistic locking race")
+    void testUpdateOrderRetriesOptimisticLockingFailure() {
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.save(order))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, orderId))
+                .thenReturn(order);
         when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
+        when(productConverter.requestDtoToEntity(productRequestDto)).thenReturn(updatedProduct);
 
         try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
@@ -250,30 +571,49 @@ class OrderServiceTest {
             when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
             when(userDetailsMock.getUsername()).thenReturn(username);
 
-            OrderResponseDto result = orderService.getOrderById(orderId);
+            orderService.updateOrder(orderId, updatedOrderRequestDto, null);
 
-            assertNotNull(result);
-            assertEquals(orderResponseDto, result);
-            verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
-            verify(orderConverter, times(1)).entityToResponseDto(order);
+            verify(orderRepository, times(2)).save(order);
+            assertEquals(1.0, meterRegistry.counter("orders.write.retries", "operation", "updateOrder").count());
         }
     }
 
     @Test
-    @DisplayName("Testing getOrderById method when order is not found")
-    void testGetOrderByIdWhenOrderIsNotFound() {
-        when(orderRepository.findByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.empty());
+    @DisplayName("Testing updateOrder method does not retry a write with If-Match")
+    void testUpdateOrderWithVersionDoesNotRetry() {
+        order.setVersion(3L);
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.save(order)).thenThrow(new ObjectOptimisticLockingFailureException(Order.class, orderId));
+        when(productConverter.requestDtoToEntity(productRequestDto)).thenReturn(updatedProduct);
 
-        assertThrows(EntityNotFoundException.class, () -> orderService.getOrderById(orderId));
+        try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
+            securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
+            when(securityContextMock.getAuthentication()).thenReturn(authenticationMock);
+            when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
+            when(userDetailsMock.getUsername()).thenReturn(username);
 
-        verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
+            assertThrows(OrderVersionMismatchException.class,
+                    () -> orderService.updateOrder(orderId, updatedOrderRequestDto, 3L));
+
+            verify(orderRepository, times(1)).save(order);
+        }
+    }
+
+    @Test
+    @DisplayName("Testing updateOrder method when order is not found")
+    void testUpdateOrderWhenOrderIsNotFound() {
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> orderService.updateOrder(orderId, updatedOrderRequestDto, null));
+
+        verify(orderRepository, times(1)).findForWriteByOrderIdAndIsDeletedFalse(orderId);
     }
 
     @Test
-    @DisplayName("Testing getOrderById method when order does not belong to requester")
-    void testGetOrderByIdWhenOrderDoesNotBelongToRequester() {
+    @DisplayName("Testing updateOrder method when order does not belong to requester")
+    void testUpdateOrderWhenOrderDoesNotBelongToRequester() {
         String realOrderOwner = "realOwner";
-        when(orderRepository.findByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findForWriteByOrderIdAndIsDeletedFalse(orderId)).thenReturn(Optional.of(order));
 
         try (MockedStatic<SecurityContextHolder> securityContextHolderMock = Mockito.mockStatic(SecurityContextHolder.class)) {
             securityContextHolderMock.when(SecurityContextHolder::getContext).thenReturn(securityContextMock);
@@ -281,12 +621,152 @@ class OrderServiceTest {
             when(authenticationMock.getPrincipal()).thenReturn(userDetailsMock);
             when(userDetailsMock.getUsername()).thenReturn(realOrderOwner);
 
-            assertThrows(IllegalArgumentException.class, () -> orderService.getOrderById(orderId));
+            assertThrows(IllegalArgumentException.class, () -> orderService.updateOrder(orderId, updatedOrderRequestDto, null));
 
-            verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
+            verify(orderRepository, times(1)).findForWriteByOrderIdAndIsDeletedFalse(orderId);
         }
     }
 
+    @Test
+    @DisplayName("Testing getOrdersWithFilters with status, minPrice and maxPrice filters")
+    void testGetOrdersWithFilters() {
+        String status = "PENDING";
+        Double minPrice = 1000.0;
+        Double maxPrice = 5000.0;
+
+        when(orderRepository.findPageIds(any(OrderFilter.class), eq(OrderSortKey.ORDER_ID), isNull(), eq(21)))
+                .thenReturn(List.of(orderId));
+        when(orderRepository.findAllByOrderIdIn(List.of(orderId))).thenReturn(List.of(order));
+        when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
+
+        OrderPageResponseDto result = orderService.getOrdersWithFilters(status, minPrice, maxPrice, null, null, null);
+
+        assertNotNull(result);
+        assertEquals(1, result.getOrders().size());
+        assertNull(result.getNextCursor());
+        assertTrue(result.getOrders().stream().allMatch(order -> order.getStatus().toString().equals(status)));
+        assertTrue(result.getOrders().stream().allMatch(order -> order.getTotalPrice() >= minPrice));
+        assertTrue(result.getOrders().stream().allMatch(order -> order.getTotalPrice() <= maxPrice));
+
+        verify(orderRepository, times(1))
+                .findPageIds(any(OrderFilter.class), eq(OrderSortKey.ORDER_ID), isNull(), eq(21));
+        verify(orderRepository, times(1)).findAllByOrderIdIn(List.of(orderId));
+    }
+
+    @Test
+    @DisplayName("Testing getOrderStats sums the statistics of every status")
+    void testGetOrderStats() {
+        OrderStatusStats pendingStats = new OrderStatusStats(OrderStatus.PENDING, 2L, new BigDecimal("3000.00"), 1500.0,
+                new BigDecimal("1000.00"), new BigDecimal("2000.00"));
+        BigDecimal confirmedPrice = new BigDecimal("500.00");
+        OrderStatusStats confirmedStats = new OrderStatusStats(OrderStatus.CONFIRMED, 1L, confirmedPrice, 500.0,
+                confirmedPrice, confirmedPrice);
+        OrderStatusStatsDto pendingStatsDto = OrderStatusStatsDto.builder()
+                .status(OrderStatus.PENDING).orderCount(2L).revenue(3000.0).build();
+        OrderStatusStatsDto confirmedStatsDto = OrderStatusStatsDto.builder()
+                .status(OrderStatus.CONFIRMED).orderCount(1L).revenue(500.0).build();
+        when(orderRepository.aggregateByStatus(OrderFilter.of(null, 100.0, null)))
+                .thenReturn(List.of(pendingStats, confirmedStats));
+        when(orderConverter.statsToDto(pendingStats)).thenReturn(pendingStatsDto);
+        when(orderConverter.statsToDto(confirmedStats)).thenReturn(confirmedStatsDto);
+
+        OrderStatsResponseDto result = orderService.getOrderStats(null, 100.0, null);
+
+        assertEquals(3L, result.getOrderCount());
+        assertEquals(3500.0, result.getRevenue());
+        assertEquals(List.of(pendingStatsDto, confirmedStatsDto), result.getStatuses());
+        verify(orderRepository, times(1)).aggregateByStatus(OrderFilter.of(null, 100.0, null));
+    }
+
+    @Test
+    @DisplayName("Testing getOrderStats when no order matches the filters")
+    void testGetOrderStatsWithoutMatchingOrders() {
+        when(orderRepository.aggregateByStatus(new OrderFilter(OrderStatus.CANCELLED, null, null)))
+                .thenReturn(List.of());
+
+        OrderStatsResponseDto result = orderService.getOrderStats("CANCELLED", null, null);
+
+        assertEquals(0L, result.getOrderCount());
+        assertEquals(0.0, result.getRevenue());
+        assertTrue(result.getStatuses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters returns a cursor pointing after the last order of a full page")
+    void testGetOrdersWithFiltersReturnsNextCursor() {
+        order.setTotalPrice(BigDecimal.valueOf(orderTotalPrice));
+        when(orderRepository.findPageIds(any(OrderFilter.class), eq(OrderSortKey.TOTAL_PRICE), isNull(), eq(2)))
+                .thenReturn(List.of(orderId, orderId + 1));
+        when(orderRepository.findAllByOrderIdIn(List.of(orderId))).thenReturn(List.of(order));
+        when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
+
+        OrderPageResponseDto result = orderService.getOrdersWithFilters(null, null, null, "totalPrice", null, 1);
+
+        assertEquals(List.of(orderResponseDto), result.getOrders());
+        OrderCursor nextCursor = OrderCursor.decode(result.getNextCursor());
+        assertEquals(OrderSortKey.TOTAL_PRICE, nextCursor.sortKey());
+        assertEquals(order.getTotalPrice(), nextCursor.lastTotalPrice());
+        assertEquals(orderId, nextCursor.lastOrderId());
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters continues from a price cursor with the exact price")
+    void testGetOrdersWithFiltersFromPriceCursor() {
+        OrderCursor cursor = new OrderCursor(OrderSortKey.TOTAL_PRICE, new BigDecimal("0.30"), orderId);
+        when(orderRepository.findPageIds(any(OrderFilter.class), eq(OrderSortKey.TOTAL_PRICE), eq(cursor), eq(2)))
+                .thenReturn(List.of());
+
+        orderService.getOrdersWithFilters(null, null, null, "totalPrice", cursor.encode(), 1);
+
+        verify(orderRepository, times(1))
+                .findPageIds(any(OrderFilter.class), eq(OrderSortKey.TOTAL_PRICE), eq(cursor), eq(2));
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters continues from the supplied cursor")
+    void testGetOrdersWithFiltersFromCursor() {
+        OrderCursor cursor = new OrderCursor(OrderSortKey.ORDER_ID, null, orderId);
+        when(orderRepository.findPageIds(any(OrderFilter.class), eq(OrderSortKey.ORDER_ID), eq(cursor), eq(101)))
+                .thenReturn(List.of());
+
+        OrderPageResponseDto result = orderService.getOrdersWithFilters(null, null, null, null, cursor.encode(), 500);
+
+        assertTrue(result.getOrders().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters keeps the order of the id query")
+    void testGetOrdersWithFiltersKeepsIdOrder() {
+        Order secondOrder = Order.builder().orderId(orderId + 1).build();
+        OrderResponseDto secondOrderResponseDto = OrderResponseDto.builder().orderId(orderId + 1).build();
+        when(orderRepository.findPageIds(any(OrderFilter.class), eq(OrderSortKey.ORDER_ID), isNull(), eq(21)))
+                .thenReturn(List.of(orderId + 1, orderId));
+        when(orderRepository.findAllByOrderIdIn(List.of(orderId + 1, orderId))).thenReturn(List.of(order, secondOrder));
+        when(orderConverter.entityToResponseDto(order)).thenReturn(orderResponseDto);
+        when(orderConverter.entityToResponseDto(secondOrder)).thenReturn(secondOrderResponseDto);
+
+        OrderPageResponseDto result = orderService.getOrdersWithFilters(null, null, null, null, null, null);
+
+        assertEquals(List.of(secondOrderResponseDto, orderResponseDto), result.getOrders());
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters rejects a cursor issued for another sort key")
+    void testGetOrdersWithFiltersWithMismatchedCursor() {
+        String cursor = new OrderCursor(OrderSortKey.ORDER_ID, null, orderId).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> orderService.getOrdersWithFilters(null, null, null, "totalPrice", cursor, null));
+    }
+
+    @Test
+    @DisplayName("Testing getOrdersWithFilters rejects a malformed cursor")
+    void testGetOrdersWithFiltersWithInvalidCursor() {
+        assertThrows(BadRequestException.class,
+                () -> orderService.getOrdersWithFilters(null, null, null, null, "not-a-cursor", null));
+    }
+
     @Test
     @DisplayName("Testing softDeleteOrder method for successful execution")
     void testSoftDeleteOrder() {
@@ -308,4 +788,18 @@ class OrderServiceTest {
 
         verify(orderRepository, times(1)).findByOrderIdAndIsDeletedFalse(orderId);
     }
-}
\ No newline at end of file
+
+    private static OrderState orderState(String status, Long version) {
+        return new OrderState() {
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+}
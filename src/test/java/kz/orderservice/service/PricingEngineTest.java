@@ -0,0 +1,73 @@
+package kz.orderservice.service;
+
+import kz.orderservice.config.PricingProperties;
+import kz.orderservice.entity.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingEngineTest {
+    private final PricingEngine plainPricingEngine = new PricingEngine(new PricingProperties(0, List.of()));
+
+    @Test
+    @DisplayName("Testing calculateTotalCents sums prices without floating-point error")
+    void testCalculateTotalCentsIsExact() {
+        List<Product> products = Collections.nCopies(10_000, product(0.1, 3));
+
+        assertEquals(300_000L, plainPricingEngine.calculateTotalCents(products));
+        assertEquals(new BigDecimal("3000.00"), plainPricingEngine.calculateTotalPrice(products));
+    }
+
+    @Test
+    @DisplayName("Testing calculateTotalCents applies the discount tier matching the quantity of each line")
+    void testCalculateTotalCentsWithLineDiscounts() {
+        PricingEngine pricingEngine = new PricingEngine(new PricingProperties(0, List.of(
+                new PricingProperties.DiscountTier(100, 1000),
+                new PricingProperties.DiscountTier(10, 500))));
+
+        assertEquals(1_999L, pricingEngine.lineTotalCents(1_999L, 1));
+        assertEquals(18_990L, pricingEngine.lineTotalCents(1_999L, 10));
+        assertEquals(179_910L, pricingEngine.lineTotalCents(1_999L, 100));
+    }
+
+    @Test
+    @DisplayName("Testing calculateTotalCents adds tax to the discounted subtotal")
+    void testCalculateTotalCentsWithTax() {
+        PricingEngine pricingEngine = new PricingEngine(new PricingProperties(1200, List.of(
+                new PricingProperties.DiscountTier(10, 500))));
+        List<Product> products = List.of(product(19.99, 10), product(5.0, 1));
+
+        assertEquals(21_829L, pricingEngine.calculateTotalCents(products));
+    }
+
+    @Test
+    @DisplayName("Testing calculateTotalCents when the total overflows")
+    void testCalculateTotalCentsOverflow() {
+        List<Product> products = List.of(product(1e15, Integer.MAX_VALUE));
+
+        assertThrows(ArithmeticException.class, () -> plainPricingEngine.calculateTotalCents(products));
+    }
+
+    @Test
+    @DisplayName("Testing the engine rejects invalid pricing rules")
+    void testInvalidPricingRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PricingEngine(new PricingProperties(10_001, List.of())));
+        assertThrows(IllegalArgumentException.class, () -> new PricingEngine(new PricingProperties(0, List.of(
+                new PricingProperties.DiscountTier(10, 500),
+                new PricingProperties.DiscountTier(10, 700)))));
+    }
+
+    private Product product(double price, int quantity) {
+        return Product.builder()
+                .price(price)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -47,6 +47,8 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
 
     private RegisterRequestDto registerRequestDto;
     private User user;
@@ -133,6 +135,7 @@ class UserServiceTest {
 
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository, times(1)).findByUsername(authenticationRequestDto.getUsername());
+        verify(tokenVersionRegistry, times(1)).register(username, 0);
         verify(jwtService, times(1)).generateToken(user);
 
         assertEquals(jwtToken, response.getToken());
@@ -174,9 +177,11 @@ class UserServiceTest {
             userService.provideAdminRole();
 
             assertEquals(Role.ADMIN, user.getRole());
+            assertEquals(1, user.getTokenVersion());
 
             verify(userRepository, times(1)).findByUsername(username);
             verify(userRepository, times(1)).save(user);
+            verify(tokenVersionRegistry, times(1)).register(username, 1);
         }
     }
 
@@ -0,0 +1,77 @@
+package kz.orderservice.service;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+    @Mock
+    private JwtService jwtService;
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private MeterRegistry meterRegistry;
+    private final String token = "header.payload.signature";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, meterRegistry, 100);
+    }
+
+    @Test
+    @DisplayName("Testing get parses a repeated token only once")
+    void testGetParsesRepeatedTokenOnce() {
+        VerifiedToken verifiedToken = new VerifiedToken("John", "USER", 0,
+                new Date(System.currentTimeMillis() + 60_000));
+        when(jwtService.parseToken(token)).thenReturn(verifiedToken);
+
+        VerifiedToken first = verifiedTokenCache.get(token);
+        VerifiedToken second = verifiedTokenCache.get(token);
+
+        assertSame(verifiedToken, first);
+        assertSame(verifiedToken, second);
+        verify(jwtService, times(1)).parseToken(token);
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "verifiedTokens").gauge().value());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", "verifiedTokens").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Testing get does not cache tokens that fail verification")
+    void testGetDoesNotCacheInvalidTokens() {
+        when(jwtService.parseToken(token)).thenThrow(new MalformedJwtException("Malformed token"));
+
+        assertThrows(MalformedJwtException.class, () -> verifiedTokenCache.get(token));
+        assertThrows(MalformedJwtException.class, () -> verifiedTokenCache.get(token));
+
+        verify(jwtService, times(2)).parseToken(token);
+    }
+
+    @Test
+    @DisplayName("Testing get parses the token again once it has expired")
+    void testGetDoesNotKeepExpiredTokens() {
+        VerifiedToken expiredToken = new VerifiedToken("John", "USER", 0,
+                new Date(System.currentTimeMillis() - 1_000));
+        when(jwtService.parseToken(token)).thenReturn(expiredToken);
+
+        verifiedTokenCache.get(token);
+        verifiedTokenCache.get(token);
+
+        verify(jwtService, times(2)).parseToken(token);
+    }
+}